@@ -0,0 +1,255 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.FeedbackStatistics;
+import com.autoservice.feedbackbot.dto.StatisticsRow;
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AdminStatisticsBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    @Param({"10000", "100000", "1000000"})
+    private int feedbacks;
+
+    @Param({"5", "250"})
+    private int branches;
+
+    private List<FeedbackRow> rawRows;
+    private List<BucketRow> bucketRows;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        rawRows = new ArrayList<>(feedbacks);
+        for (int i = 0; i < feedbacks; i++) {
+            rawRows.add(new FeedbackRow(
+                    NOW.minusMinutes(random.nextInt(365 * 24 * 60)),
+                    "Branch-" + random.nextInt(branches),
+                    Position.values()[random.nextInt(Position.values().length)].name(),
+                    Sentiment.values()[random.nextInt(Sentiment.values().length)].name(),
+                    1 + random.nextInt(5)));
+        }
+        rawRows.sort(Comparator.comparing(FeedbackRow::getCreatedAt));
+
+        Map<BucketKey, Long> buckets = new HashMap<>();
+        for (FeedbackRow row : rawRows) {
+            BucketKey key = new BucketKey(row.getCreatedAt().truncatedTo(ChronoUnit.HOURS),
+                    row.getBranch(), row.getPosition(), row.getSentiment(), row.getCriticalityLevel());
+            buckets.merge(key, 1L, Long::sum);
+        }
+        bucketRows = new ArrayList<>(buckets.size());
+        buckets.forEach((key, count) -> bucketRows.add(new BucketRow(key, count)));
+        bucketRows.sort(Comparator.comparing(bucket -> bucket.getKey().getBucketStart()));
+
+        start = NOW.minusMonths(6).plusMinutes(30);
+        end = NOW.minusMinutes(15);
+    }
+
+    @Benchmark
+    public FeedbackStatistics aggregateFeedbacks() {
+        GroupingSets sets = new GroupingSets();
+        addFeedbacks(sets, start, end);
+        return AdminService.buildStatistics(sets.rows(), null, null);
+    }
+
+    @Benchmark
+    public FeedbackStatistics aggregateHourlyRollup() {
+        LocalDateTime firstFullHour = start.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime lastFullHour = end.truncatedTo(ChronoUnit.HOURS);
+
+        GroupingSets sets = new GroupingSets();
+        for (int i = firstBucket(firstFullHour); i < bucketRows.size(); i++) {
+            BucketRow bucket = bucketRows.get(i);
+            if (!bucket.getKey().getBucketStart().isBefore(lastFullHour)) {
+                break;
+            }
+            BucketKey key = bucket.getKey();
+            sets.add(key.getSentiment(), key.getCriticalityLevel(), key.getBranch(), key.getPosition(), bucket.getCount());
+        }
+        addFeedbacks(sets, start, firstFullHour);
+        addFeedbacks(sets, lastFullHour, end);
+
+        return AdminService.buildStatistics(sets.rows(), null, null);
+    }
+
+    private void addFeedbacks(GroupingSets sets, LocalDateTime from, LocalDateTime to) {
+        for (int i = firstFeedback(from); i < rawRows.size(); i++) {
+            FeedbackRow row = rawRows.get(i);
+            if (!row.getCreatedAt().isBefore(to)) {
+                break;
+            }
+            sets.add(row.getSentiment(), row.getCriticalityLevel(), row.getBranch(), row.getPosition(), 1);
+        }
+    }
+
+    private int firstFeedback(LocalDateTime from) {
+        int low = 0;
+        int high = rawRows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rawRows.get(mid).getCreatedAt().isBefore(from)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstBucket(LocalDateTime from) {
+        int low = 0;
+        int high = bucketRows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketRows.get(mid).getKey().getBucketStart().isBefore(from)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class FeedbackRow {
+        private LocalDateTime createdAt;
+        private String branch;
+        private String position;
+        private String sentiment;
+        private int criticalityLevel;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class BucketKey {
+        private LocalDateTime bucketStart;
+        private String branch;
+        private String position;
+        private String sentiment;
+        private int criticalityLevel;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class BucketRow {
+        private BucketKey key;
+        private long count;
+    }
+
+    private static class GroupingSets {
+        private final Map<String, Totals> bySentiment = new HashMap<>();
+        private final Map<Integer, Totals> byCriticality = new HashMap<>();
+        private final Map<String, Totals> byBranch = new HashMap<>();
+        private final Map<String, Totals> byPosition = new HashMap<>();
+        private final Totals total = new Totals(0b1111, null, null, null, null);
+
+        private void add(String sentiment, int criticalityLevel, String branch, String position, long count) {
+            bySentiment.computeIfAbsent(sentiment,
+                    k -> new Totals(0b0111, sentiment, null, null, null)).add(criticalityLevel, count);
+            byCriticality.computeIfAbsent(criticalityLevel,
+                    k -> new Totals(0b1011, null, criticalityLevel, null, null)).add(criticalityLevel, count);
+            byBranch.computeIfAbsent(branch,
+                    k -> new Totals(0b1101, null, null, branch, null)).add(criticalityLevel, count);
+            byPosition.computeIfAbsent(position,
+                    k -> new Totals(0b1110, null, null, null, position)).add(criticalityLevel, count);
+            total.add(criticalityLevel, count);
+        }
+
+        private List<StatisticsRow> rows() {
+            List<StatisticsRow> rows = new ArrayList<>();
+            rows.addAll(bySentiment.values());
+            rows.addAll(byCriticality.values());
+            rows.addAll(byBranch.values());
+            rows.addAll(byPosition.values());
+            rows.add(total);
+            return rows;
+        }
+    }
+
+    private static class Totals implements StatisticsRow {
+        private final Integer groupingId;
+        private final String sentiment;
+        private final Integer criticalityLevel;
+        private final String branch;
+        private final String position;
+        private long feedbackCount;
+        private long criticalitySum;
+        private long criticalCount;
+
+        private Totals(Integer groupingId, String sentiment, Integer criticalityLevel,
+                       String branch, String position) {
+            this.groupingId = groupingId;
+            this.sentiment = sentiment;
+            this.criticalityLevel = criticalityLevel;
+            this.branch = branch;
+            this.position = position;
+        }
+
+        private void add(int level, long count) {
+            feedbackCount += count;
+            criticalitySum += level * count;
+            if (level >= 4) {
+                criticalCount += count;
+            }
+        }
+
+        @Override
+        public Integer getGroupingId() {
+            return groupingId;
+        }
+
+        @Override
+        public String getSentiment() {
+            return sentiment;
+        }
+
+        @Override
+        public Integer getCriticalityLevel() {
+            return criticalityLevel;
+        }
+
+        @Override
+        public String getBranch() {
+            return branch;
+        }
+
+        @Override
+        public String getPosition() {
+            return position;
+        }
+
+        @Override
+        public Long getFeedbackCount() {
+            return feedbackCount;
+        }
+
+        @Override
+        public Long getCriticalitySum() {
+            return criticalitySum;
+        }
+
+        @Override
+        public Long getCriticalCount() {
+            return criticalCount;
+        }
+    }
+}
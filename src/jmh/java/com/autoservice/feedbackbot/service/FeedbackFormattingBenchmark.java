@@ -0,0 +1,64 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.entity.User;
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import com.autoservice.feedbackbot.enums.UserState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedbackFormattingBenchmark {
+
+    @Param({"short", "long"})
+    private String messageLength;
+
+    private GoogleDocsService googleDocsService;
+    private TrelloService trelloService;
+    private Feedback feedback;
+
+    @Setup
+    public void setUp() {
+        googleDocsService = new GoogleDocsService(null, null);
+        trelloService = new TrelloService(null, new ObjectMapper(), null);
+
+        User user = new User();
+        user.setChatId(100L);
+        user.setPosition(Position.MECHANIC);
+        user.setBranch("Kyiv Central");
+        user.setState(UserState.REGISTERED);
+
+        String message = "The hydraulic lift in bay 3 is leaking oil again.";
+        if (messageLength.equals("long")) {
+            message = message.repeat(40);
+        }
+
+        feedback = new Feedback();
+        feedback.setId(1L);
+        feedback.setUser(user);
+        feedback.setMessage(message);
+        feedback.setSentiment(Sentiment.NEGATIVE);
+        feedback.setCriticalityLevel(5);
+        feedback.setSolution("Take the lift out of service and call the manufacturer's service team.");
+        feedback.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 30));
+    }
+
+    @Benchmark
+    public String formatFeedbackText() {
+        return googleDocsService.formatFeedbackText(feedback);
+    }
+
+    @Benchmark
+    public String formatCardDescription() {
+        return trelloService.formatCardDescription(feedback);
+    }
+}
@@ -0,0 +1,56 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.AnalysisResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenAiResponseBenchmark {
+
+    private static final Map<String, String> RESPONSES = Map.of(
+            "plain",
+            "{\"sentiment\": \"NEGATIVE\", \"criticality\": 4, " +
+                    "\"solution\": \"Repair the water heater in the break room and schedule monthly checks.\"}",
+            "fenced",
+            "Here is the analysis of the feedback:\n\n```json\n{\n  \"sentiment\": \"negative\",\n" +
+                    "  \"criticality\": 5,\n  \"solution\": \"Replace the faulty hydraulic lift immediately " +
+                    "and suspend its use until inspected by a certified technician.\"\n}\n```\n" +
+                    "Let me know if you need anything else.",
+            "extraFields",
+            "{\"sentiment\": \"POSITIVE\", \"criticality\": 1, \"confidence\": 0.93, " +
+                    "\"topics\": [\"team\", \"management\", \"schedule\"], " +
+                    "\"solution\": \"Share the feedback with the branch manager as an example of good practice.\"}",
+            "malformed",
+            "The employee seems unhappy about the tools. Sentiment: negative, criticality: 3."
+    );
+
+    @Param({"plain", "fenced", "extraFields", "malformed"})
+    private String variant;
+
+    private OpenAiService openAiService;
+    private String response;
+
+    @Setup
+    public void setUp() {
+        openAiService = new OpenAiService(null, new ObjectMapper(), null, null, null);
+        response = RESPONSES.get(variant);
+    }
+
+    @Benchmark
+    public String extractJsonFromResponse() {
+        return openAiService.extractJsonFromResponse(response);
+    }
+
+    @Benchmark
+    public AnalysisResult parseResponse() {
+        return openAiService.parseResponse(response);
+    }
+}
@@ -0,0 +1,144 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import com.autoservice.feedbackbot.enums.Position;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class EmployeeSimulator implements AutoCloseable {
+
+    private static final long FIRST_CHAT_ID = 9_000_000_000L;
+
+    private static final String[] FEEDBACK_TEMPLATES = {
+            "The hydraulic lift in bay %d keeps losing pressure, please have it inspected.",
+            "We have been short of brake pads for %d days, customers are waiting.",
+            "Thanks to the team for covering shift %d, it went really smoothly.",
+            "The diagnostic scanner license expired again after %d weeks.",
+            "Could we get a schedule for overtime? This is the %d-th late evening this month.",
+            "Break room heater has been broken for %d days."
+    };
+
+    private final TelegramStandIn telegram;
+    private final int messagesPerEmployee;
+    private final long thinkTimeMs;
+    private final String branchName;
+    private final Map<Long, Employee> employees = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler =
+            Executors.newScheduledThreadPool(4, new CustomizableThreadFactory("loadtest-employee-"));
+    private final CountDownLatch finished;
+
+    @Getter
+    private final LatencyRecorder acknowledgementLatency = new LatencyRecorder("acknowledgement");
+    @Getter
+    private final LatencyRecorder endToEndLatency = new LatencyRecorder("end-to-end analysis");
+    @Getter
+    private final AtomicLong rejectedMessages = new AtomicLong();
+    @Getter
+    private final AtomicLong errorReplies = new AtomicLong();
+
+    public EmployeeSimulator(TelegramStandIn telegram, int employeeCount, int messagesPerEmployee,
+                             long thinkTimeMs, String branchName) {
+        this.telegram = telegram;
+        this.messagesPerEmployee = messagesPerEmployee;
+        this.thinkTimeMs = thinkTimeMs;
+        this.branchName = branchName;
+        this.finished = new CountDownLatch(employeeCount);
+
+        Position[] positions = Position.values();
+        for (int i = 0; i < employeeCount; i++) {
+            long chatId = FIRST_CHAT_ID + i;
+            employees.put(chatId, new Employee(chatId, positions[i % positions.length]));
+        }
+
+        telegram.onReply(this::onReply);
+    }
+
+    public void start() {
+        employees.values().forEach(employee -> scheduler.schedule(() -> send(employee, "/start"),
+                (long) (Math.random() * thinkTimeMs), TimeUnit.MILLISECONDS));
+    }
+
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    public long getCompletedEmployees() {
+        return employees.size() - finished.getCount();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void onReply(Long chatId, String text) {
+        Employee employee = employees.get(chatId);
+        if (employee == null) {
+            return;
+        }
+
+        if (text.startsWith("Please select your position")) {
+            sendAfterThinkTime(employee, employee.position.name());
+        } else if (text.contains("select your branch")) {
+            sendAfterThinkTime(employee, branchName);
+        } else if (text.startsWith("Perfect!") || text.startsWith("You're already registered")) {
+            sendNextFeedback(employee);
+        } else if (text.startsWith("Thank you for your feedback")) {
+            acknowledgementLatency.record(System.nanoTime() - employee.sentAtNanos);
+        } else if (text.startsWith("Analysis of your feedback is ready")) {
+            endToEndLatency.record(System.nanoTime() - employee.sentAtNanos);
+            sendNextFeedback(employee);
+        } else if (text.startsWith("We are receiving a lot of messages")) {
+            rejectedMessages.incrementAndGet();
+            sendAfterThinkTime(employee, employee.lastMessage);
+        } else {
+            errorReplies.incrementAndGet();
+            log.debug("Unexpected reply to employee {}: {}", chatId, text);
+        }
+    }
+
+    private void sendNextFeedback(Employee employee) {
+        int sent = employee.feedbackSent;
+        if (sent >= messagesPerEmployee) {
+            finished.countDown();
+            return;
+        }
+
+        employee.feedbackSent = sent + 1;
+        String template = FEEDBACK_TEMPLATES[(int) ((employee.chatId + sent) % FEEDBACK_TEMPLATES.length)];
+        String feedback = String.format(template, sent + 1) + " (employee " + employee.chatId + ")";
+        sendAfterThinkTime(employee, feedback);
+    }
+
+    private void sendAfterThinkTime(Employee employee, String text) {
+        scheduler.schedule(() -> send(employee, text), thinkTimeMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(Employee employee, String text) {
+        employee.lastMessage = text;
+        employee.sentAtNanos = System.nanoTime();
+        telegram.sendUserMessage(employee.chatId, text);
+    }
+
+    private static class Employee {
+        private final long chatId;
+        private final Position position;
+        private volatile int feedbackSent;
+        private volatile String lastMessage;
+        private volatile long sentAtNanos;
+
+        private Employee(long chatId, Position position) {
+            this.chatId = chatId;
+            this.position = position;
+        }
+    }
+}
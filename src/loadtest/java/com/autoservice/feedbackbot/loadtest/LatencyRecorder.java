@@ -0,0 +1,49 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyRecorder {
+
+    private final String name;
+    private final List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public void record(long latencyNanos) {
+        latenciesNanos.add(latencyNanos);
+    }
+
+    public int getCount() {
+        return latenciesNanos.size();
+    }
+
+    public String summary() {
+        List<Long> sorted;
+        synchronized (latenciesNanos) {
+            sorted = new ArrayList<>(latenciesNanos);
+        }
+        if (sorted.isEmpty()) {
+            return String.format("%-22s n=0", name);
+        }
+        Collections.sort(sorted);
+
+        return String.format("%-22s n=%-6d p50=%8.1fms  p90=%8.1fms  p95=%8.1fms  p99=%8.1fms  max=%8.1fms",
+                name, sorted.size(),
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.90), percentileMs(sorted, 0.95),
+                percentileMs(sorted, 0.99), toMs(sorted.get(sorted.size() - 1)));
+    }
+
+    private double percentileMs(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return toMs(sorted.get(Math.max(0, index)));
+    }
+
+    private double toMs(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import com.autoservice.feedbackbot.FeedbackBotApplication;
+import com.autoservice.feedbackbot.service.BranchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class LoadTestHarness {
+
+    private static final String BOT_TOKEN = "load-test-token";
+
+    public static void main(String[] args) throws Exception {
+        int employeeCount = Integer.getInteger("loadtest.employees", 50);
+        int messagesPerEmployee = Integer.getInteger("loadtest.messages-per-employee", 5);
+        long thinkTimeMs = Long.getLong("loadtest.think-time-ms", 500);
+        long timeoutSeconds = Long.getLong("loadtest.timeout-seconds", 600);
+        String branchName = System.getProperty("loadtest.branch", "Load Test");
+
+        int exitCode;
+        try (TelegramStandIn telegram = new TelegramStandIn(StandInProfile.fromSystemProperties("telegram", 30, 429));
+             OpenAiStandIn openAi = new OpenAiStandIn(StandInProfile.fromSystemProperties("openai", 800, 500));
+             TrelloStandIn trello = new TrelloStandIn(StandInProfile.fromSystemProperties("trello", 150, 500));
+             GoogleDocsStandIn docs = new GoogleDocsStandIn(StandInProfile.fromSystemProperties("docs", 300, 500))) {
+
+            String[] applicationArgs = applicationArgs(telegram, openAi, trello, docs, args);
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FeedbackBotApplication.class)
+                    .run(applicationArgs);
+                 EmployeeSimulator simulator = new EmployeeSimulator(
+                         telegram, employeeCount, messagesPerEmployee, thinkTimeMs, branchName)) {
+
+                context.getBean(BranchService.class).createBranch(branchName);
+
+                log.info("Starting load test: {} employees x {} messages, think time {}ms",
+                        employeeCount, messagesPerEmployee, thinkTimeMs);
+
+                long startNanos = System.nanoTime();
+                simulator.start();
+                boolean completed = simulator.awaitCompletion(timeoutSeconds, TimeUnit.SECONDS);
+                double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+                printReport(simulator, List.of(telegram, openAi, trello, docs), completed, elapsedSeconds,
+                        employeeCount, trello.getCardCount());
+                exitCode = simulator.getEndToEndLatency().getCount() > 0 ? 0 : 1;
+            }
+        }
+
+        System.exit(exitCode);
+    }
+
+    static String[] applicationArgs(TelegramStandIn telegram, OpenAiStandIn openAi, TrelloStandIn trello,
+                                    GoogleDocsStandIn docs, String[] extraArgs)
+            throws IOException, NoSuchAlgorithmException {
+        Path credentials = docs.writeServiceAccountCredentials();
+
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--telegram.bot.token=" + BOT_TOKEN,
+                "--telegram.api.base-url=" + telegram.getBaseUrl() + "/bot",
+                "--openai.api.key=load-test",
+                "--openai.api.url=" + openAi.getBaseUrl() + "/v1/chat/completions",
+                "--trello.api.url=" + trello.getBaseUrl() + "/1",
+                "--google.docs.root-url=" + docs.getBaseUrl() + "/",
+                "--google.docs.document.id=load-test-document",
+                "--google.credentials.file.path=" + credentials,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.autoservice.feedbackbot=INFO"));
+        applicationArgs.addAll(Arrays.asList(extraArgs));
+
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    private static void printReport(EmployeeSimulator simulator, List<StandInServer> standIns,
+                                    boolean completed, double elapsedSeconds, int employeeCount,
+                                    int trelloCards) {
+        int analyzed = simulator.getEndToEndLatency().getCount();
+
+        StringBuilder report = new StringBuilder("\n=== Load test report ===\n");
+        report.append(String.format("Duration:            %.1fs%s%n", elapsedSeconds, completed ? "" : " (timed out)"));
+        report.append(String.format("Employees finished:  %d/%d%n", simulator.getCompletedEmployees(), employeeCount));
+        report.append(String.format("Feedback analyzed:   %d%n", analyzed));
+        report.append(String.format("Throughput:          %.2f feedback/s%n", analyzed / elapsedSeconds));
+        report.append(String.format("Rejected (busy):     %d%n", simulator.getRejectedMessages().get()));
+        report.append(String.format("Error replies:       %d%n", simulator.getErrorReplies().get()));
+        report.append(String.format("Trello cards:        %d%n", trelloCards));
+        report.append(simulator.getAcknowledgementLatency().summary()).append('\n');
+        report.append(simulator.getEndToEndLatency().summary()).append('\n');
+        report.append("Stand-ins:\n");
+        for (StandInServer standIn : standIns) {
+            report.append(String.format("  %-60s requests=%d injected errors=%d%n",
+                    standIn.getProfile(), standIn.getRequestCount(), standIn.getInjectedErrorCount()));
+        }
+
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,57 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class OpenAiStandIn extends StandInServer {
+
+    private static final Pattern BATCH_SIZE = Pattern.compile("Analyze each of these (\\d+)");
+    private static final String[] SENTIMENTS = {"POSITIVE", "NEUTRAL", "NEGATIVE"};
+
+    public OpenAiStandIn(StandInProfile profile) throws IOException {
+        super(profile);
+    }
+
+    @Override
+    protected Object handle(String method, String path, String body) throws Exception {
+        JsonNode request = objectMapper.readTree(body);
+        String prompt = request.path("messages").path(0).path("content").asText();
+
+        Matcher batch = BATCH_SIZE.matcher(prompt);
+        String content;
+        if (batch.find()) {
+            int size = Integer.parseInt(batch.group(1));
+            List<Map<String, Object>> analyses = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Map<String, Object> analysis = analysisFor(prompt + i);
+                analysis.put("index", i + 1);
+                analyses.add(analysis);
+            }
+            content = objectMapper.writeValueAsString(analyses);
+        } else {
+            content = objectMapper.writeValueAsString(analysisFor(prompt));
+        }
+
+        return Map.of("choices", List.of(Map.of(
+                "index", 0,
+                "message", Map.of("role", "assistant", "content", content),
+                "finish_reason", "stop")));
+    }
+
+    private Map<String, Object> analysisFor(String text) {
+        int hash = Math.abs(text.hashCode() % 1000);
+
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("sentiment", SENTIMENTS[hash % SENTIMENTS.length]);
+        analysis.put("criticality", hash % 5 + 1);
+        analysis.put("solution", "Discuss the issue with the branch manager and follow up within a week.");
+        return analysis;
+    }
+}
@@ -0,0 +1,45 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@RequiredArgsConstructor
+public class StandInProfile {
+
+    private final String name;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final int errorStatus;
+
+    public static StandInProfile fromSystemProperties(String name, long defaultLatencyMs, int defaultErrorStatus) {
+        String prefix = "loadtest." + name + ".";
+
+        return new StandInProfile(
+                name,
+                Long.getLong(prefix + "latency-ms", defaultLatencyMs),
+                Long.getLong(prefix + "jitter-ms", defaultLatencyMs / 2),
+                Double.parseDouble(System.getProperty(prefix + "error-rate", "0")),
+                Integer.getInteger(prefix + "error-status", defaultErrorStatus));
+    }
+
+    public long nextDelayMs() {
+        if (jitterMs <= 0) {
+            return latencyMs;
+        }
+        return Math.max(0, latencyMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+    }
+
+    public boolean nextIsError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: latency=%dms±%dms, errors=%.1f%% (HTTP %d)",
+                name, latencyMs, jitterMs, errorRate * 100, errorStatus);
+    }
+}
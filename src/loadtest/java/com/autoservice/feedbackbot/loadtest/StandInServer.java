@@ -0,0 +1,102 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public abstract class StandInServer implements AutoCloseable {
+
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Getter
+    private final StandInProfile profile;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+
+    protected StandInServer(StandInProfile profile) throws IOException {
+        this.profile = profile;
+        this.executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("standin-" + profile.getName() + "-"));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handleExchange);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    protected abstract Object handle(String method, String path, String body) throws Exception;
+
+    protected boolean appliesProfile(String path) {
+        return true;
+    }
+
+    protected Object errorBody(int status) {
+        return Map.of("error", Map.of("code", status, "message", "Injected failure"));
+    }
+
+    private void handleExchange(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+            try {
+                if (appliesProfile(path)) {
+                    requestCount.incrementAndGet();
+                    Thread.sleep(profile.nextDelayMs());
+
+                    if (profile.nextIsError()) {
+                        injectedErrorCount.incrementAndGet();
+                        respond(exchange, profile.getErrorStatus(), errorBody(profile.getErrorStatus()));
+                        return;
+                    }
+                }
+
+                respond(exchange, 200, handle(exchange.getRequestMethod(), path, body));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                respond(exchange, 500, Map.of("error", Map.of("code", 500, "message", String.valueOf(e.getMessage()))));
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
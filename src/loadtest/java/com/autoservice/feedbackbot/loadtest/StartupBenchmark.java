@@ -0,0 +1,65 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import com.autoservice.feedbackbot.FeedbackBotApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StartupBenchmark {
+
+    private static final long CHAT_ID = 1;
+
+    public static void main(String[] args) throws Exception {
+        long timeoutSeconds = Long.getLong("loadtest.timeout-seconds", 120);
+
+        int exitCode;
+        try (TelegramStandIn telegram = new TelegramStandIn(StandInProfile.fromSystemProperties("telegram", 30, 429));
+             OpenAiStandIn openAi = new OpenAiStandIn(StandInProfile.fromSystemProperties("openai", 800, 500));
+             TrelloStandIn trello = new TrelloStandIn(StandInProfile.fromSystemProperties("trello", 150, 500));
+             GoogleDocsStandIn docs = new GoogleDocsStandIn(StandInProfile.fromSystemProperties("docs", 300, 500))) {
+
+            CountDownLatch firstReply = new CountDownLatch(1);
+            AtomicLong firstReplyUptimeMs = new AtomicLong(-1);
+            telegram.onReply((chatId, text) -> {
+                if (firstReplyUptimeMs.compareAndSet(-1, uptimeMs())) {
+                    firstReply.countDown();
+                }
+            });
+
+            telegram.sendUserMessage(CHAT_ID, "/start");
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FeedbackBotApplication.class)
+                    .run(LoadTestHarness.applicationArgs(telegram, openAi, trello, docs, args))) {
+
+                long contextReadyUptimeMs = uptimeMs();
+                boolean replied = firstReply.await(timeoutSeconds, TimeUnit.SECONDS);
+
+                TimeGauge firstUpdate = context.getBean(MeterRegistry.class)
+                        .find("feedback.startup.time-to-first-update")
+                        .timeGauge();
+
+                StringBuilder report = new StringBuilder("\n=== Startup report ===\n");
+                report.append(String.format("Context ready:         %d ms after JVM start%n", contextReadyUptimeMs));
+                report.append(String.format("First update accepted: %s%n",
+                        firstUpdate != null ? Math.round(firstUpdate.value(TimeUnit.MILLISECONDS)) + " ms after JVM start" : "n/a"));
+                report.append(String.format("First reply sent:      %s%n",
+                        replied ? firstReplyUptimeMs.get() + " ms after JVM start" : "none (timed out)"));
+                System.out.println(report);
+
+                exitCode = replied ? 0 : 1;
+            }
+        }
+
+        System.exit(exitCode);
+    }
+
+    private static long uptimeMs() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
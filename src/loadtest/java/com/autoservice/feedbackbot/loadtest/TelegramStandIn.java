@@ -0,0 +1,96 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+public class TelegramStandIn extends StandInServer {
+
+    private static final long MAX_POLL_WAIT_MS = 1000;
+    private static final int MAX_UPDATES_PER_POLL = 100;
+
+    private final BlockingQueue<Map<String, Object>> pendingUpdates = new LinkedBlockingQueue<>();
+    private final AtomicLong updateIds = new AtomicLong();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private volatile BiConsumer<Long, String> replyListener = (chatId, text) -> { };
+
+    public TelegramStandIn(StandInProfile profile) throws IOException {
+        super(profile);
+    }
+
+    public void onReply(BiConsumer<Long, String> replyListener) {
+        this.replyListener = replyListener;
+    }
+
+    public void sendUserMessage(long chatId, String text) {
+        Map<String, Object> chat = Map.of("id", chatId, "type", "private");
+        Map<String, Object> from = Map.of("id", chatId, "is_bot", false, "first_name", "Employee " + chatId);
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("message_id", messageIds.incrementAndGet());
+        message.put("date", Instant.now().getEpochSecond());
+        message.put("chat", chat);
+        message.put("from", from);
+        message.put("text", text);
+
+        pendingUpdates.add(Map.of("update_id", updateIds.incrementAndGet(), "message", message));
+    }
+
+    @Override
+    protected boolean appliesProfile(String path) {
+        return path.endsWith("/sendMessage");
+    }
+
+    @Override
+    protected Object errorBody(int status) {
+        return Map.of("ok", false, "error_code", status, "description", "Injected failure",
+                "parameters", Map.of("retry_after", 1));
+    }
+
+    @Override
+    protected Object handle(String method, String path, String body) throws Exception {
+        if (path.endsWith("/getUpdates")) {
+            return Map.of("ok", true, "result", pollUpdates(body));
+        }
+
+        if (path.endsWith("/sendMessage")) {
+            JsonNode request = objectMapper.readTree(body);
+            long chatId = request.path("chat_id").asLong();
+            String text = request.path("text").asText();
+
+            replyListener.accept(chatId, text);
+
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("message_id", messageIds.incrementAndGet());
+            message.put("date", Instant.now().getEpochSecond());
+            message.put("chat", Map.of("id", chatId, "type", "private"));
+            message.put("text", text);
+            return Map.of("ok", true, "result", message);
+        }
+
+        return Map.of("ok", true, "result", true);
+    }
+
+    private List<Map<String, Object>> pollUpdates(String body) throws Exception {
+        long timeoutMs = body.isEmpty() ? 0 : objectMapper.readTree(body).path("timeout").asLong(0) * 1000;
+
+        List<Map<String, Object>> updates = new ArrayList<>();
+        Map<String, Object> first = pendingUpdates.poll(Math.min(timeoutMs, MAX_POLL_WAIT_MS), TimeUnit.MILLISECONDS);
+        if (first != null) {
+            updates.add(first);
+            pendingUpdates.drainTo(updates, MAX_UPDATES_PER_POLL - 1);
+        }
+        return updates;
+    }
+}
@@ -0,0 +1,71 @@
+package com.autoservice.feedbackbot.loadtest;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TrelloStandIn extends StandInServer {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<String, String> cardDescriptions = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> cardComments = new ConcurrentHashMap<>();
+
+    public TrelloStandIn(StandInProfile profile) throws IOException {
+        super(profile);
+    }
+
+    public int getCardCount() {
+        return cardDescriptions.size();
+    }
+
+    @Override
+    protected Object handle(String method, String path, String body) {
+        String[] segments = path.split("/");
+
+        if (path.endsWith("/cards") && method.equals("POST")) {
+            String cardId = "card-" + ids.incrementAndGet();
+            cardDescriptions.put(cardId, parseForm(body).getOrDefault("desc", ""));
+            cardComments.put(cardId, new CopyOnWriteArrayList<>());
+            return Map.of("id", cardId, "url", getBaseUrl() + "/c/" + cardId);
+        }
+
+        if (path.endsWith("/cards")) {
+            List<Map<String, Object>> cards = new ArrayList<>();
+            cardDescriptions.forEach((id, desc) -> cards.add(Map.of("id", id, "desc", desc)));
+            return cards;
+        }
+
+        String cardId = segments.length > 3 ? segments[3] : "";
+        List<String> comments = cardComments.getOrDefault(cardId, List.of());
+
+        if (path.endsWith("/actions/comments")) {
+            comments.add(parseForm(body).getOrDefault("text", ""));
+            return Map.of("id", "action-" + ids.incrementAndGet());
+        }
+
+        List<Map<String, Object>> actions = new ArrayList<>();
+        for (String comment : comments) {
+            actions.add(Map.of("type", "commentCard", "data", Map.of("text", comment)));
+        }
+        return actions;
+    }
+
+    private Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+}
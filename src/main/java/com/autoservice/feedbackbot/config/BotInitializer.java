@@ -1,23 +1,91 @@
 package com.autoservice.feedbackbot.config;
 
 
+import com.autoservice.feedbackbot.enums.TelegramMode;
 import com.autoservice.feedbackbot.service.TelegramBotService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.api.methods.updates.SetWebhook;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @RequiredArgsConstructor
+@Slf4j
 public class BotInitializer {
 
     private final TelegramBotsApi telegramBotsApi;
     private final TelegramBotService telegramBotService;
 
+    @Value("${telegram.mode:polling}")
+    private TelegramMode mode;
+
+    @Value("${telegram.webhook.url:}")
+    private String webhookUrl;
+
+    @Value("${telegram.webhook.secret-token:}")
+    private String webhookSecretToken;
+
+    @Value("${telegram.webhook.max-connections:40}")
+    private int webhookMaxConnections;
+
+    @Value("${telegram.registration.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    private ScheduledExecutorService registrar;
+
     @PostConstruct
-    public void init() throws TelegramApiException {
-        telegramBotsApi.registerBot(telegramBotService);
+    public void init() {
+        if (mode == TelegramMode.WEBHOOK && webhookUrl.isBlank()) {
+            throw new IllegalStateException("telegram.webhook.url must be set in webhook mode");
+        }
+        if (mode == TelegramMode.WEBHOOK && webhookSecretToken.isBlank()) {
+            throw new IllegalStateException("telegram.webhook.secret-token must be set in webhook mode");
+        }
+
+        registrar = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("telegram-init-"));
+        registrar.execute(this::register);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        registrar.shutdownNow();
+    }
+
+    private void register() {
+        try {
+            if (mode == TelegramMode.WEBHOOK) {
+                registerWebhook();
+            } else {
+                telegramBotsApi.registerBot(telegramBotService);
+                log.info("Registered Telegram bot for long polling");
+            }
+            registrar.shutdown();
+        } catch (TelegramApiException | RuntimeException e) {
+            log.error("Telegram bot registration failed, retrying in {} ms: {}", retryBackoffMs, e.getMessage());
+            registrar.schedule(this::register, retryBackoffMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void registerWebhook() throws TelegramApiException {
+        SetWebhook setWebhook = SetWebhook.builder()
+                .url(webhookUrl)
+                .secretToken(webhookSecretToken)
+                .maxConnections(webhookMaxConnections)
+                .allowedUpdates(List.of("message"))
+                .build();
+        telegramBotService.execute(setWebhook);
+
+        log.info("Registered Telegram webhook at {}", webhookUrl);
     }
-}
\ No newline at end of file
+}
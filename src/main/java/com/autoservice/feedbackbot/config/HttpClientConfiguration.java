@@ -0,0 +1,114 @@
+package com.autoservice.feedbackbot.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfiguration {
+
+    @Bean
+    public RestTemplate openAiRestTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${http.openai.max-connections:20}") int maxConnections,
+            @Value("${http.openai.max-concurrent-calls:10}") int maxConcurrentCalls,
+            @Value("${http.openai.bulkhead-wait-ms:2000}") long bulkheadWaitMs,
+            @Value("${http.openai.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${http.openai.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${http.openai.http2:false}") boolean http2) {
+
+        return buildRestTemplate("openai", restTemplateBuilder, meterRegistry, maxConnections,
+                maxConcurrentCalls, bulkheadWaitMs, connectTimeoutMs, readTimeoutMs, http2);
+    }
+
+    @Bean
+    public RestTemplate trelloRestTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${http.trello.max-connections:10}") int maxConnections,
+            @Value("${http.trello.max-concurrent-calls:5}") int maxConcurrentCalls,
+            @Value("${http.trello.bulkhead-wait-ms:2000}") long bulkheadWaitMs,
+            @Value("${http.trello.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${http.trello.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${http.trello.http2:false}") boolean http2) {
+
+        return buildRestTemplate("trello", restTemplateBuilder, meterRegistry, maxConnections,
+                maxConcurrentCalls, bulkheadWaitMs, connectTimeoutMs, readTimeoutMs, http2);
+    }
+
+    private RestTemplate buildRestTemplate(String integration, RestTemplateBuilder restTemplateBuilder,
+                                           MeterRegistry meterRegistry, int maxConnections,
+                                           int maxConcurrentCalls, long bulkheadWaitMs,
+                                           long connectTimeoutMs, long readTimeoutMs, boolean http2) {
+
+        ClientHttpRequestFactory requestFactory = http2
+                ? http2RequestFactory(connectTimeoutMs, readTimeoutMs)
+                : pooledRequestFactory(maxConnections, bulkheadWaitMs, connectTimeoutMs, readTimeoutMs);
+
+        BulkheadInterceptor bulkhead = new BulkheadInterceptor(integration, maxConcurrentCalls, bulkheadWaitMs);
+        Gauge.builder("http.client.bulkhead.available", bulkhead, BulkheadInterceptor::getAvailablePermits)
+                .description("Free concurrent call slots for an outbound integration")
+                .tag("integration", integration)
+                .register(meterRegistry);
+
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(bulkhead)
+                .build();
+    }
+
+    private ClientHttpRequestFactory pooledRequestFactory(int maxConnections, long poolWaitMs,
+                                                          long connectTimeoutMs, long readTimeoutMs) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .evictExpiredConnections()
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    private ClientHttpRequestFactory http2RequestFactory(long connectTimeoutMs, long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return requestFactory;
+    }
+}
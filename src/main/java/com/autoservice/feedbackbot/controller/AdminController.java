@@ -1,15 +1,26 @@
 package com.autoservice.feedbackbot.controller;
 
-import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.dto.BranchView;
+import com.autoservice.feedbackbot.dto.CursorPage;
+import com.autoservice.feedbackbot.dto.FeedbackStatistics;
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.enums.ExportFormat;
 import com.autoservice.feedbackbot.enums.Position;
 import com.autoservice.feedbackbot.enums.Sentiment;
 import com.autoservice.feedbackbot.service.AdminService;
+import com.autoservice.feedbackbot.service.CriticalFeedbackStreamService;
+import com.autoservice.feedbackbot.service.FeedbackExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -21,30 +32,76 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final FeedbackExportService feedbackExportService;
+    private final CriticalFeedbackStreamService criticalFeedbackStreamService;
 
     @GetMapping("/feedbacks")
-    public ResponseEntity<Page<Feedback>> getFeedbacks(
+    public ResponseEntity<?> getFeedbacks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String branch,
             @RequestParam(required = false) Position position,
             @RequestParam(required = false) Integer minCriticality,
             @RequestParam(required = false) Sentiment sentiment
     ) {
+        if (cursor != null) {
+            CursorPage<FeedbackView> feedbacks = adminService.getFeedbacksAfter(
+                    cursor, size, branch, position, minCriticality, sentiment);
+            return ResponseEntity.ok(feedbacks);
+        }
+
         Sort sort = Sort.by(sortDir.equals("desc") ?
                 Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         PageRequest pageRequest = PageRequest.of(page, size, sort);
 
-        Page<Feedback> feedbacks = adminService.getFeedbacks(
+        Page<FeedbackView> feedbacks = adminService.getFeedbacks(
                 pageRequest, branch, position, minCriticality, sentiment);
 
         return ResponseEntity.ok(feedbacks);
     }
 
+    @GetMapping("/feedbacks/search")
+    public ResponseEntity<Page<FeedbackView>> searchFeedbacks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String branch,
+            @RequestParam(required = false) Position position,
+            @RequestParam(required = false) Integer minCriticality,
+            @RequestParam(required = false) Sentiment sentiment
+    ) {
+        Page<FeedbackView> feedbacks = adminService.searchFeedbacks(
+                q, PageRequest.of(page, size), branch, position, minCriticality, sentiment);
+
+        return ResponseEntity.ok(feedbacks);
+    }
+
+    @GetMapping("/feedbacks/export")
+    public ResponseEntity<StreamingResponseBody> exportFeedbacks(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String branch,
+            @RequestParam(required = false) Position position,
+            @RequestParam(required = false) Integer minCriticality,
+            @RequestParam(required = false) Sentiment sentiment
+    ) {
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        String fileName = "feedbacks." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = outputStream -> feedbackExportService.export(
+                outputStream, exportFormat, gzip, branch, position, minCriticality, sentiment);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getStatistics(
+    public ResponseEntity<FeedbackStatistics> getStatistics(
             @RequestParam(required = false) String branch,
             @RequestParam(required = false) Position position,
             @RequestParam(required = false) String startDate,
@@ -55,21 +112,43 @@ public class AdminController {
         LocalDateTime end = endDate != null ?
                 LocalDateTime.parse(endDate) : LocalDateTime.now();
 
-        Map<String, Object> stats = adminService.getStatistics(branch, position, start, end);
+        FeedbackStatistics stats = adminService.getStatistics(branch, position, start, end);
         return ResponseEntity.ok(stats);
     }
 
+    @PostMapping("/statistics/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildStatistics() {
+        int buckets = adminService.rebuildStatisticsRollup();
+        return ResponseEntity.ok(Map.of("buckets", buckets));
+    }
+
     @GetMapping("/critical-feedbacks")
-    public ResponseEntity<Page<Feedback>> getCriticalFeedbacks(
+    public ResponseEntity<?> getCriticalFeedbacks(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            CursorPage<FeedbackView> criticalFeedbacks = adminService.getCriticalFeedbacksAfter(cursor, size);
+            return ResponseEntity.ok(criticalFeedbacks);
+        }
+
         PageRequest pageRequest = PageRequest.of(page, size,
                 Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Feedback> criticalFeedbacks = adminService.getCriticalFeedbacks(pageRequest);
+        Page<FeedbackView> criticalFeedbacks = adminService.getCriticalFeedbacks(pageRequest);
         return ResponseEntity.ok(criticalFeedbacks);
     }
 
+    @GetMapping(value = "/critical-feedbacks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCriticalFeedbacks(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after
+    ) {
+        return criticalFeedbackStreamService.subscribe(lastEventId != null ? lastEventId : after)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     @PostMapping("/feedback/{id}/mark-resolved")
     public ResponseEntity<Void> markFeedbackResolved(@PathVariable Long id) {
         adminService.markFeedbackResolved(id);
@@ -81,4 +160,21 @@ public class AdminController {
         java.util.List<String> branches = adminService.getAllBranches();
         return ResponseEntity.ok(branches);
     }
+
+    @PostMapping("/branches")
+    public ResponseEntity<BranchView> createBranch(@RequestParam String name) {
+        BranchView branch = adminService.createBranch(name);
+        return ResponseEntity.ok(branch);
+    }
+
+    @DeleteMapping("/branches/{id}")
+    public ResponseEntity<BranchView> deactivateBranch(@PathVariable Long id) {
+        BranchView branch = adminService.deactivateBranch(id);
+        return ResponseEntity.ok(branch);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
 }
\ No newline at end of file
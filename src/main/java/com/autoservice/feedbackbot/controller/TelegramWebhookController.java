@@ -0,0 +1,49 @@
+package com.autoservice.feedbackbot.controller;
+
+import com.autoservice.feedbackbot.service.TelegramBotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RestController
+@RequestMapping("/api/telegram")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "telegram.mode", havingValue = "webhook")
+public class TelegramWebhookController {
+
+    private final TelegramBotService telegramBotService;
+
+    @Value("${telegram.webhook.secret-token:}")
+    private String secretToken;
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveUpdate(
+            @RequestHeader(value = "X-Telegram-Bot-Api-Secret-Token", required = false) String requestToken,
+            @RequestBody Update update
+    ) {
+        if (secretToken.isBlank() || !isValidToken(requestToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (!telegramBotService.accept(update)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
+    private boolean isValidToken(String requestToken) {
+        return requestToken != null && MessageDigest.isEqual(
+                secretToken.getBytes(StandardCharsets.UTF_8),
+                requestToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,6 @@
 package com.autoservice.feedbackbot.dto;
 
+import com.autoservice.feedbackbot.enums.AnalysisSource;
 import com.autoservice.feedbackbot.enums.Sentiment;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,4 +13,5 @@ public class AnalysisResult {
     private Sentiment sentiment;
     private Integer criticality;
     private String solution;
-}
\ No newline at end of file
+    private AnalysisSource source;
+}
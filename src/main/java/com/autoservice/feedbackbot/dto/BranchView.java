@@ -0,0 +1,17 @@
+package com.autoservice.feedbackbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchView {
+    private Long id;
+    private String name;
+    private boolean active;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.autoservice.feedbackbot.dto;
+
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackFilter {
+    private String branch;
+    private Position position;
+    private Integer minCriticality;
+    private Sentiment sentiment;
+}
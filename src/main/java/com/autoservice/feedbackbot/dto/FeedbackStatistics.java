@@ -0,0 +1,22 @@
+package com.autoservice.feedbackbot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FeedbackStatistics {
+    private long totalFeedbacks;
+    private Map<String, Long> sentimentDistribution;
+    private Map<Integer, Long> criticalityDistribution;
+    private Map<String, Long> branchDistribution;
+    private Map<String, Long> positionDistribution;
+    private long criticalFeedbacksCount;
+    private double averageCriticality;
+}
@@ -0,0 +1,24 @@
+package com.autoservice.feedbackbot.dto;
+
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackView {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String branch;
+    private Position position;
+    private Sentiment sentiment;
+    private Integer criticalityLevel;
+    private String message;
+    private String solution;
+    private String trelloCardId;
+}
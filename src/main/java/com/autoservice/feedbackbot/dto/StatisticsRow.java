@@ -0,0 +1,20 @@
+package com.autoservice.feedbackbot.dto;
+
+public interface StatisticsRow {
+
+    Integer getGroupingId();
+
+    String getSentiment();
+
+    Integer getCriticalityLevel();
+
+    String getBranch();
+
+    String getPosition();
+
+    Long getFeedbackCount();
+
+    Long getCriticalitySum();
+
+    Long getCriticalCount();
+}
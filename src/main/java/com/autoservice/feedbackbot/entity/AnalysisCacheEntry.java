@@ -0,0 +1,36 @@
+package com.autoservice.feedbackbot.entity;
+
+import com.autoservice.feedbackbot.enums.Sentiment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "analysis_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCacheEntry {
+
+    @Id
+    @Column(length = 64)
+    private String messageHash;
+
+    @Enumerated(EnumType.STRING)
+    private Sentiment sentiment;
+
+    private Integer criticalityLevel;
+
+    @Column(columnDefinition = "TEXT")
+    private String solution;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package com.autoservice.feedbackbot.entity;
 
+import com.autoservice.feedbackbot.enums.AnalysisSource;
 import com.autoservice.feedbackbot.enums.Sentiment;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -27,21 +28,29 @@ public class Feedback {
 
     private Integer criticalityLevel;
 
+    @Enumerated(EnumType.STRING)
+    private AnalysisSource analysisSource;
+
     @Column(columnDefinition = "TEXT")
     private String solution;
 
+    @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     private String trelloCardId;
 
     private String googleDocEntryId;
 
+    private Long duplicateOfId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_chat_id")
     private User user;
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
\ No newline at end of file
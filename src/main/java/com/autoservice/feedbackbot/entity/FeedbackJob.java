@@ -0,0 +1,74 @@
+package com.autoservice.feedbackbot.entity;
+
+import com.autoservice.feedbackbot.enums.AnalysisSource;
+import com.autoservice.feedbackbot.enums.JobStage;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "feedback_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long chatId;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    private JobStage stage;
+
+    @Enumerated(EnumType.STRING)
+    private Sentiment sentiment;
+
+    private Integer criticalityLevel;
+
+    @Enumerated(EnumType.STRING)
+    private AnalysisSource analysisSource;
+
+    @Column(columnDefinition = "TEXT")
+    private String solution;
+
+    private Long feedbackId;
+
+    private Long trelloIncidentId;
+
+    private Long duplicateOfFeedbackId;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime nextAttemptAt;
+
+    private String lockedBy;
+
+    private LocalDateTime lockedUntil;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.autoservice.feedbackbot.entity;
+
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "feedback_stats_hourly",
+        uniqueConstraints = @UniqueConstraint(name = "uk_feedback_stats_hourly_bucket",
+                columnNames = {"bucket_start", "branch", "position", "sentiment", "criticality_level"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackStatsBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private String branch;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Position position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Sentiment sentiment;
+
+    @Column(nullable = false)
+    private Integer criticalityLevel;
+
+    @Column(nullable = false)
+    private Integer feedbackCount;
+}
@@ -0,0 +1,33 @@
+package com.autoservice.feedbackbot.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "trello_incidents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrelloIncident {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String branch;
+
+    private String cardId;
+
+    private int feedbackCount;
+
+    @Column(nullable = false)
+    private LocalDateTime openedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastFeedbackAt;
+}
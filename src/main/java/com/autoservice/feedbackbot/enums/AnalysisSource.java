@@ -0,0 +1,9 @@
+package com.autoservice.feedbackbot.enums;
+
+public enum AnalysisSource {
+    REMOTE,
+    CACHE,
+    DUPLICATE,
+    LOCAL_MODEL,
+    DEFAULT
+}
@@ -0,0 +1,7 @@
+package com.autoservice.feedbackbot.enums;
+
+public enum CircuitState {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+}
@@ -0,0 +1,15 @@
+package com.autoservice.feedbackbot.enums;
+
+public enum JobStage {
+    ANALYZE,
+    PERSIST,
+    DOCS,
+    TRELLO,
+    REPLY,
+    COMPLETED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,6 @@
+package com.autoservice.feedbackbot.enums;
+
+public enum TelegramMode {
+    POLLING,
+    WEBHOOK
+}
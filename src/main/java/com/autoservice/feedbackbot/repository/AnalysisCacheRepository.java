@@ -0,0 +1,25 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.entity.AnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AnalysisCacheRepository extends JpaRepository<AnalysisCacheEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO analysis_cache (message_hash, sentiment, criticality_level, solution, created_at) " +
+            "VALUES (:messageHash, :sentiment, :criticalityLevel, :solution, now()) " +
+            "ON CONFLICT (message_hash) DO UPDATE SET sentiment = EXCLUDED.sentiment, " +
+            "criticality_level = EXCLUDED.criticality_level, solution = EXCLUDED.solution",
+            nativeQuery = true)
+    int upsert(@Param("messageHash") String messageHash,
+               @Param("sentiment") String sentiment,
+               @Param("criticalityLevel") Integer criticalityLevel,
+               @Param("solution") String solution);
+}
@@ -0,0 +1,18 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.entity.Branch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BranchRepository extends JpaRepository<Branch, Long> {
+
+    Optional<Branch> findByNormalizedName(String normalizedName);
+
+    List<Branch> findByActiveTrueOrderByNameAsc();
+
+    List<Branch> findAllByOrderByNameAsc();
+}
@@ -0,0 +1,42 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.entity.FeedbackJob;
+import com.autoservice.feedbackbot.enums.JobStage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FeedbackJobRepository extends JpaRepository<FeedbackJob, Long> {
+
+    @Query("SELECT j FROM FeedbackJob j " +
+            "WHERE j.stage NOT IN :terminalStages AND j.nextAttemptAt <= :now " +
+            "AND (j.lockedUntil IS NULL OR j.lockedUntil < :now) " +
+            "ORDER BY j.id")
+    List<FeedbackJob> findDueJobs(@Param("terminalStages") Collection<JobStage> terminalStages,
+                                  @Param("now") LocalDateTime now,
+                                  Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FeedbackJob j SET j.lockedBy = :owner, j.lockedUntil = :lockedUntil " +
+            "WHERE j.id = :jobId AND j.stage NOT IN :terminalStages AND j.nextAttemptAt <= :now " +
+            "AND (j.lockedUntil IS NULL OR j.lockedUntil < :now)")
+    int claim(@Param("jobId") Long jobId,
+              @Param("terminalStages") Collection<JobStage> terminalStages,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE FeedbackJob j SET j.trelloIncidentId = :incidentId WHERE j.id = :jobId")
+    void setTrelloIncidentId(@Param("jobId") Long jobId, @Param("incidentId") Long incidentId);
+}
@@ -1,22 +1,34 @@
 package com.autoservice.feedbackbot.repository;
 
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.dto.StatisticsRow;
 import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.enums.AnalysisSource;
 import com.autoservice.feedbackbot.enums.Position;
 import com.autoservice.feedbackbot.enums.Sentiment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> , JpaSpecificationExecutor<Feedback> {
+public interface FeedbackRepository extends JpaRepository<Feedback, Long> , JpaSpecificationExecutor<Feedback>,
+        FeedbackViewRepository {
 
     List<Feedback> findByUserBranch(String branch);
 
@@ -31,4 +43,79 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> , JpaS
 
     @Query("SELECT f FROM Feedback f WHERE f.createdAt BETWEEN :start AND :end")
     List<Feedback> findByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+
+    @Query("SELECT f FROM Feedback f JOIN FETCH f.user WHERE f.id = :id")
+    Optional<Feedback> findWithUserById(@Param("id") Long id);
+
+    @Query("SELECT new com.autoservice.feedbackbot.dto.FeedbackView(" +
+            "f.id, f.createdAt, u.branch, u.position, f.sentiment, f.criticalityLevel, " +
+            "f.message, f.solution, f.trelloCardId) " +
+            "FROM Feedback f JOIN f.user u " +
+            "WHERE (:branch IS NULL OR u.branch = :branch) " +
+            "AND (:position IS NULL OR u.position = :position) " +
+            "AND (:minCriticality IS NULL OR f.criticalityLevel >= :minCriticality) " +
+            "AND (:sentiment IS NULL OR f.sentiment = :sentiment) " +
+            "ORDER BY f.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FeedbackView> streamForExport(@Param("branch") String branch,
+                                              @Param("position") Position position,
+                                              @Param("minCriticality") Integer minCriticality,
+                                              @Param("sentiment") Sentiment sentiment);
+
+    @Query("SELECT new com.autoservice.feedbackbot.dto.FeedbackView(" +
+            "f.id, f.createdAt, u.branch, u.position, f.sentiment, f.criticalityLevel, " +
+            "f.message, f.solution, f.trelloCardId) " +
+            "FROM Feedback f JOIN f.user u " +
+            "WHERE f.createdAt >= :since AND f.duplicateOfId IS NULL AND u.branch IS NOT NULL " +
+            "ORDER BY f.createdAt DESC")
+    List<FeedbackView> findRecentOriginals(@Param("since") LocalDateTime since, Pageable pageable);
+
+    @Query("SELECT new com.autoservice.feedbackbot.dto.FeedbackView(" +
+            "f.id, f.createdAt, u.branch, u.position, f.sentiment, f.criticalityLevel, " +
+            "f.message, f.solution, f.trelloCardId) " +
+            "FROM Feedback f JOIN f.user u " +
+            "WHERE f.analysisSource = :source " +
+            "ORDER BY f.createdAt DESC")
+    List<FeedbackView> findRecentByAnalysisSource(@Param("source") AnalysisSource source, Pageable pageable);
+
+    @Query("SELECT new com.autoservice.feedbackbot.dto.FeedbackView(" +
+            "f.id, f.createdAt, u.branch, u.position, f.sentiment, f.criticalityLevel, " +
+            "f.message, f.solution, f.trelloCardId) " +
+            "FROM Feedback f JOIN f.user u " +
+            "WHERE f.id > :afterId AND f.criticalityLevel >= :minCriticality " +
+            "ORDER BY f.id")
+    List<FeedbackView> findCriticalViewsAfterId(@Param("afterId") Long afterId,
+                                                @Param("minCriticality") Integer minCriticality,
+                                                Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(f.id), 0) FROM Feedback f WHERE f.criticalityLevel >= :minCriticality")
+    Long findMaxCriticalId(@Param("minCriticality") Integer minCriticality);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:key))", nativeQuery = true)
+    Integer lockForUpdate(@Param("key") String key);
+
+    @Query(value = "SELECT GROUPING(f.sentiment, f.criticality_level, u.branch, u.position) AS groupingId, " +
+            "f.sentiment AS sentiment, f.criticality_level AS criticalityLevel, " +
+            "u.branch AS branch, u.position AS position, " +
+            "COUNT(*) AS feedbackCount, " +
+            "COALESCE(SUM(f.criticality_level), 0) AS criticalitySum, " +
+            "COUNT(*) FILTER (WHERE f.criticality_level >= 4) AS criticalCount " +
+            "FROM feedbacks f JOIN users u ON u.chat_id = f.user_chat_id " +
+            "WHERE f.created_at >= :start AND f.created_at < :end " +
+            "AND (CAST(:branch AS varchar) IS NULL OR u.branch = CAST(:branch AS varchar)) " +
+            "AND (CAST(:position AS varchar) IS NULL OR u.position = CAST(:position AS varchar)) " +
+            "GROUP BY GROUPING SETS ((f.sentiment), (f.criticality_level), (u.branch), (u.position), ())",
+            nativeQuery = true)
+    List<StatisticsRow> aggregateStatistics(@Param("branch") String branch,
+                                            @Param("position") String position,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    @Transactional
+    @Query(value = "SELECT ensure_feedback_partitions(CAST(:fromMonth AS date), CAST(:toMonth AS date))",
+            nativeQuery = true)
+    int ensurePartitions(@Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+}
@@ -0,0 +1,72 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.dto.StatisticsRow;
+import com.autoservice.feedbackbot.entity.FeedbackStatsBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeedbackStatsBucketRepository extends JpaRepository<FeedbackStatsBucket, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO feedback_stats_hourly " +
+            "(bucket_start, branch, position, sentiment, criticality_level, feedback_count) " +
+            "VALUES (:bucketStart, :branch, :position, :sentiment, :criticalityLevel, 1) " +
+            "ON CONFLICT (bucket_start, branch, position, sentiment, criticality_level) " +
+            "DO UPDATE SET feedback_count = feedback_stats_hourly.feedback_count + 1",
+            nativeQuery = true)
+    void increment(@Param("bucketStart") LocalDateTime bucketStart,
+                   @Param("branch") String branch,
+                   @Param("position") String position,
+                   @Param("sentiment") String sentiment,
+                   @Param("criticalityLevel") Integer criticalityLevel);
+
+    @Modifying
+    @Query(value = "LOCK TABLE feedback_stats_hourly IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Query(value = "SELECT built FROM statistics_rollup_state WHERE id = 1", nativeQuery = true)
+    boolean isRollupBuilt();
+
+    @Modifying
+    @Query(value = "UPDATE statistics_rollup_state SET built = TRUE, built_at = now() WHERE id = 1", nativeQuery = true)
+    int markRollupBuilt();
+
+    @Modifying
+    @Query(value = "DELETE FROM feedback_stats_hourly", nativeQuery = true)
+    int deleteAllBuckets();
+
+    @Modifying
+    @Query(value = "INSERT INTO feedback_stats_hourly " +
+            "(bucket_start, branch, position, sentiment, criticality_level, feedback_count) " +
+            "SELECT date_trunc('hour', f.created_at), COALESCE(u.branch, ''), COALESCE(u.position, ''), " +
+            "f.sentiment, f.criticality_level, COUNT(*) " +
+            "FROM feedbacks f JOIN users u ON u.chat_id = f.user_chat_id " +
+            "WHERE f.created_at IS NOT NULL AND f.sentiment IS NOT NULL AND f.criticality_level IS NOT NULL " +
+            "GROUP BY 1, 2, 3, 4, 5",
+            nativeQuery = true)
+    int rebuildFromFeedbacks();
+
+    @Query(value = "SELECT GROUPING(b.sentiment, b.criticality_level, b.branch, b.position) AS groupingId, " +
+            "b.sentiment AS sentiment, b.criticality_level AS criticalityLevel, " +
+            "b.branch AS branch, b.position AS position, " +
+            "COALESCE(SUM(b.feedback_count), 0) AS feedbackCount, " +
+            "COALESCE(SUM(b.feedback_count * b.criticality_level), 0) AS criticalitySum, " +
+            "COALESCE(SUM(b.feedback_count) FILTER (WHERE b.criticality_level >= 4), 0) AS criticalCount " +
+            "FROM feedback_stats_hourly b " +
+            "WHERE b.bucket_start >= :start AND b.bucket_start < :end " +
+            "AND (CAST(:branch AS varchar) IS NULL OR b.branch = CAST(:branch AS varchar)) " +
+            "AND (CAST(:position AS varchar) IS NULL OR b.position = CAST(:position AS varchar)) " +
+            "GROUP BY GROUPING SETS ((b.sentiment), (b.criticality_level), (b.branch), (b.position), ())",
+            nativeQuery = true)
+    List<StatisticsRow> aggregateStatistics(@Param("branch") String branch,
+                                            @Param("position") String position,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+}
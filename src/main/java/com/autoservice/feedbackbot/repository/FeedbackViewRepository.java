@@ -0,0 +1,18 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.dto.FeedbackCursor;
+import com.autoservice.feedbackbot.dto.FeedbackFilter;
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface FeedbackViewRepository {
+
+    Page<FeedbackView> findViews(FeedbackFilter filter, Pageable pageable);
+
+    List<FeedbackView> findViewsAfter(FeedbackFilter filter, FeedbackCursor cursor, int limit);
+
+    Page<FeedbackView> searchViews(String text, FeedbackFilter filter, Pageable pageable);
+}
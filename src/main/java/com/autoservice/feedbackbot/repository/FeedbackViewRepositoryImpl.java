@@ -0,0 +1,203 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.dto.FeedbackCursor;
+import com.autoservice.feedbackbot.dto.FeedbackFilter;
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.entity.User;
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FeedbackViewRepositoryImpl implements FeedbackViewRepository {
+
+    private static final String SEARCH_QUERY = "websearch_to_tsquery('simple', :text)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<FeedbackView> findViews(FeedbackFilter filter, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<FeedbackView> query = criteriaBuilder.createQuery(FeedbackView.class);
+        Root<Feedback> root = query.from(Feedback.class);
+        Join<Feedback, User> user = root.join("user");
+
+        query.select(selectView(criteriaBuilder, root, user))
+                .where(buildPredicates(criteriaBuilder, root, user, filter).toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        List<FeedbackView> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    @Override
+    public List<FeedbackView> findViewsAfter(FeedbackFilter filter, FeedbackCursor cursor, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<FeedbackView> query = criteriaBuilder.createQuery(FeedbackView.class);
+        Root<Feedback> root = query.from(Feedback.class);
+        Join<Feedback, User> user = root.join("user");
+
+        List<Predicate> predicates = buildPredicates(criteriaBuilder, root, user, filter);
+        if (cursor != null) {
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                            criteriaBuilder.lessThan(root.get("id"), cursor.getId()))));
+        }
+
+        query.select(selectView(criteriaBuilder, root, user))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.desc(root.get("createdAt")), criteriaBuilder.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<FeedbackView> searchViews(String text, FeedbackFilter filter, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = buildSearchWhere(text, filter, parameters);
+
+        Query query = entityManager.createNativeQuery(
+                "SELECT f.id, f.created_at, u.branch, u.position, f.sentiment, f.criticality_level, " +
+                        "f.message, f.solution, f.trello_card_id " +
+                        "FROM feedbacks f JOIN users u ON u.chat_id = f.user_chat_id " + where +
+                        " ORDER BY ts_rank_cd(f.search_vector, " + SEARCH_QUERY + ") DESC, f.created_at DESC, f.id DESC");
+        parameters.forEach(query::setParameter);
+
+        List<Object[]> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<FeedbackView> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            content.add(new FeedbackView(
+                    ((Number) row[0]).longValue(),
+                    toLocalDateTime(row[1]),
+                    (String) row[2],
+                    row[3] != null ? Position.valueOf((String) row[3]) : null,
+                    row[4] != null ? Sentiment.valueOf((String) row[4]) : null,
+                    row[5] != null ? ((Number) row[5]).intValue() : null,
+                    (String) row[6],
+                    (String) row[7],
+                    (String) row[8]));
+        }
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query countQuery = entityManager.createNativeQuery(
+                    "SELECT count(*) FROM feedbacks f JOIN users u ON u.chat_id = f.user_chat_id " + where);
+            parameters.forEach(countQuery::setParameter);
+            return ((Number) countQuery.getSingleResult()).longValue();
+        });
+    }
+
+    private String buildSearchWhere(String text, FeedbackFilter filter, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder("WHERE f.search_vector @@ " + SEARCH_QUERY);
+        parameters.put("text", text);
+
+        if (filter.getBranch() != null && !filter.getBranch().trim().isEmpty()) {
+            where.append(" AND u.branch = :branch");
+            parameters.put("branch", filter.getBranch());
+        }
+
+        if (filter.getPosition() != null) {
+            where.append(" AND u.position = :position");
+            parameters.put("position", filter.getPosition().name());
+        }
+
+        if (filter.getMinCriticality() != null) {
+            where.append(" AND f.criticality_level >= :minCriticality");
+            parameters.put("minCriticality", filter.getMinCriticality());
+        }
+
+        if (filter.getSentiment() != null) {
+            where.append(" AND f.sentiment = :sentiment");
+            parameters.put("sentiment", filter.getSentiment().name());
+        }
+
+        return where.toString();
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private long count(FeedbackFilter filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Feedback> root = query.from(Feedback.class);
+        Join<Feedback, User> user = root.join("user");
+
+        query.select(criteriaBuilder.count(root))
+                .where(buildPredicates(criteriaBuilder, root, user, filter).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private CompoundSelection<FeedbackView> selectView(CriteriaBuilder criteriaBuilder,
+                                                       Root<Feedback> root, Join<Feedback, User> user) {
+        return criteriaBuilder.construct(FeedbackView.class,
+                root.get("id"),
+                root.get("createdAt"),
+                user.get("branch"),
+                user.get("position"),
+                root.get("sentiment"),
+                root.get("criticalityLevel"),
+                root.get("message"),
+                root.get("solution"),
+                root.get("trelloCardId"));
+    }
+
+    private List<Predicate> buildPredicates(CriteriaBuilder criteriaBuilder, Root<Feedback> root,
+                                            Join<Feedback, User> user, FeedbackFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.getBranch() != null && !filter.getBranch().trim().isEmpty()) {
+            predicates.add(criteriaBuilder.equal(user.get("branch"), filter.getBranch()));
+        }
+
+        if (filter.getPosition() != null) {
+            predicates.add(criteriaBuilder.equal(user.get("position"), filter.getPosition()));
+        }
+
+        if (filter.getMinCriticality() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(
+                    root.get("criticalityLevel"), filter.getMinCriticality()));
+        }
+
+        if (filter.getSentiment() != null) {
+            predicates.add(criteriaBuilder.equal(root.get("sentiment"), filter.getSentiment()));
+        }
+
+        return predicates;
+    }
+}
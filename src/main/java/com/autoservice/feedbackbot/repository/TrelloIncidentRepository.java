@@ -0,0 +1,20 @@
+package com.autoservice.feedbackbot.repository;
+
+import com.autoservice.feedbackbot.entity.TrelloIncident;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TrelloIncidentRepository extends JpaRepository<TrelloIncident, Long> {
+
+    Optional<TrelloIncident> findFirstByBranchAndLastFeedbackAtGreaterThanEqualOrderByIdDesc(
+            String branch, LocalDateTime activeSince);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:key))", nativeQuery = true)
+    Integer lockForUpdate(@Param("key") String key);
+}
@@ -1,120 +1,160 @@
 package com.autoservice.feedbackbot.service;
 
+import com.autoservice.feedbackbot.dto.BranchView;
+import com.autoservice.feedbackbot.dto.CursorPage;
+import com.autoservice.feedbackbot.dto.FeedbackCursor;
+import com.autoservice.feedbackbot.dto.FeedbackFilter;
+import com.autoservice.feedbackbot.dto.FeedbackStatistics;
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.dto.StatisticsRow;
+import com.autoservice.feedbackbot.entity.Branch;
 import com.autoservice.feedbackbot.entity.Feedback;
 import com.autoservice.feedbackbot.enums.Position;
 import com.autoservice.feedbackbot.enums.Sentiment;
 import com.autoservice.feedbackbot.repository.FeedbackRepository;
-import com.autoservice.feedbackbot.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
-    private final FeedbackRepository feedbackRepository;
-    private final UserRepository userRepository;
+    private static final FeedbackFilter CRITICAL_FILTER = new FeedbackFilter(null, null, 4, null);
 
-    public Page<Feedback> getFeedbacks(PageRequest pageRequest, String branch,
-                                       Position position, Integer minCriticality,
-                                       Sentiment sentiment) {
+    private static final int BY_SENTIMENT = 0b0111;
+    private static final int BY_CRITICALITY = 0b1011;
+    private static final int BY_BRANCH = 0b1101;
+    private static final int BY_POSITION = 0b1110;
+    private static final int GRAND_TOTAL = 0b1111;
 
-        Specification<Feedback> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
+    private final FeedbackRepository feedbackRepository;
+    private final BranchService branchService;
+    private final StatisticsRollupService statisticsRollupService;
 
-            if (branch != null && !branch.trim().isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("user").get("branch"), branch));
-            }
+    public Page<FeedbackView> getFeedbacks(PageRequest pageRequest, String branch,
+                                           Position position, Integer minCriticality,
+                                           Sentiment sentiment) {
 
-            if (position != null) {
-                predicates.add(criteriaBuilder.equal(root.get("user").get("position"), position));
-            }
+        FeedbackFilter filter = new FeedbackFilter(branch, position, minCriticality, sentiment);
 
-            if (minCriticality != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(
-                        root.get("criticalityLevel"), minCriticality));
-            }
+        return feedbackRepository.findViews(filter, pageRequest);
+    }
 
-            if (sentiment != null) {
-                predicates.add(criteriaBuilder.equal(root.get("sentiment"), sentiment));
-            }
+    public Page<FeedbackView> searchFeedbacks(String text, PageRequest pageRequest, String branch,
+                                              Position position, Integer minCriticality,
+                                              Sentiment sentiment) {
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text must not be empty");
+        }
 
-        return feedbackRepository.findAll(spec, pageRequest);
-    }
+        FeedbackFilter filter = new FeedbackFilter(branch, position, minCriticality, sentiment);
 
-    public Map<String, Object> getStatistics(String branch, Position position,
-                                             LocalDateTime start, LocalDateTime end) {
+        return feedbackRepository.searchViews(text.trim(), filter, pageRequest);
+    }
 
-        List<Feedback> feedbacks = getFeedbacksForStats(branch, position, start, end);
+    public CursorPage<FeedbackView> getFeedbacksAfter(String cursor, int size, String branch,
+                                                      Position position, Integer minCriticality,
+                                                      Sentiment sentiment) {
 
-        Map<String, Object> stats = new HashMap<>();
+        FeedbackFilter filter = new FeedbackFilter(branch, position, minCriticality, sentiment);
 
-        stats.put("totalFeedbacks", feedbacks.size());
+        return findAfterCursor(filter, FeedbackCursor.decode(cursor), size);
+    }
 
-        Map<String, Long> sentimentStats = feedbacks.stream()
-                .collect(Collectors.groupingBy(
-                        f -> f.getSentiment().toString(),
-                        Collectors.counting()));
-        stats.put("sentimentDistribution", sentimentStats);
+    private CursorPage<FeedbackView> findAfterCursor(FeedbackFilter filter, FeedbackCursor cursor, int size) {
+        List<FeedbackView> rows = feedbackRepository.findViewsAfter(filter, cursor, size + 1);
 
-        Map<Integer, Long> criticalityStats = feedbacks.stream()
-                .collect(Collectors.groupingBy(
-                        Feedback::getCriticalityLevel,
-                        Collectors.counting()));
-        stats.put("criticalityDistribution", criticalityStats);
+        boolean hasNext = rows.size() > size;
+        List<FeedbackView> content = hasNext ? rows.subList(0, size) : rows;
 
-        if (branch == null) {
-            Map<String, Long> branchStats = feedbacks.stream()
-                    .collect(Collectors.groupingBy(
-                            f -> f.getUser().getBranch(),
-                            Collectors.counting()));
-            stats.put("branchDistribution", branchStats);
+        String nextCursor = null;
+        if (hasNext) {
+            FeedbackView last = content.get(content.size() - 1);
+            nextCursor = new FeedbackCursor(last.getCreatedAt(), last.getId()).encode();
         }
 
-        if (position == null) {
-            Map<String, Long> positionStats = feedbacks.stream()
-                    .collect(Collectors.groupingBy(
-                            f -> f.getUser().getPosition().toString(),
-                            Collectors.counting()));
-            stats.put("positionDistribution", positionStats);
-        }
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
 
-        long criticalCount = feedbacks.stream()
-                .mapToInt(Feedback::getCriticalityLevel)
-                .filter(level -> level >= 4)
-                .count();
-        stats.put("criticalFeedbacksCount", criticalCount);
+    public FeedbackStatistics getStatistics(String branch, Position position,
+                                            LocalDateTime start, LocalDateTime end) {
 
-        double avgCriticality = feedbacks.stream()
-                .mapToInt(Feedback::getCriticalityLevel)
-                .average()
-                .orElse(0.0);
-        stats.put("averageCriticality", Math.round(avgCriticality * 100.0) / 100.0);
+        List<StatisticsRow> rows = statisticsRollupService.aggregate(branch, position, start, end);
 
-        return stats;
+        return buildStatistics(rows, branch, position);
     }
 
-    public Page<Feedback> getCriticalFeedbacks(PageRequest pageRequest) {
-        List<Feedback> criticalFeedbacks = feedbackRepository.findByCriticalityLevelGreaterThanEqual(4);
+    static FeedbackStatistics buildStatistics(List<StatisticsRow> rows, String branch, Position position) {
+        Map<String, Long> sentimentStats = new HashMap<>();
+        Map<Integer, Long> criticalityStats = new HashMap<>();
+        Map<String, Long> branchStats = new HashMap<>();
+        Map<String, Long> positionStats = new HashMap<>();
+        long totalFeedbacks = 0;
+        long criticalitySum = 0;
+        long criticalCount = 0;
+
+        for (StatisticsRow row : rows) {
+            long count = row.getFeedbackCount();
+
+            switch (row.getGroupingId()) {
+                case BY_SENTIMENT:
+                    if (row.getSentiment() != null) {
+                        sentimentStats.merge(row.getSentiment(), count, Long::sum);
+                    }
+                    break;
+                case BY_CRITICALITY:
+                    if (row.getCriticalityLevel() != null) {
+                        criticalityStats.merge(row.getCriticalityLevel(), count, Long::sum);
+                    }
+                    break;
+                case BY_BRANCH:
+                    if (row.getBranch() != null && !row.getBranch().isEmpty()) {
+                        branchStats.merge(row.getBranch(), count, Long::sum);
+                    }
+                    break;
+                case BY_POSITION:
+                    if (row.getPosition() != null && !row.getPosition().isEmpty()) {
+                        positionStats.merge(row.getPosition(), count, Long::sum);
+                    }
+                    break;
+                case GRAND_TOTAL:
+                    totalFeedbacks += count;
+                    criticalitySum += row.getCriticalitySum();
+                    criticalCount += row.getCriticalCount();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        double avgCriticality = totalFeedbacks > 0 ? (double) criticalitySum / totalFeedbacks : 0.0;
+
+        return new FeedbackStatistics(
+                totalFeedbacks,
+                sentimentStats,
+                criticalityStats,
+                branch == null ? branchStats : null,
+                position == null ? positionStats : null,
+                criticalCount,
+                Math.round(avgCriticality * 100.0) / 100.0);
+    }
 
-        int start = Math.min((int) pageRequest.getOffset(), criticalFeedbacks.size());
-        int end = Math.min(start + pageRequest.getPageSize(), criticalFeedbacks.size());
+    public int rebuildStatisticsRollup() {
+        return statisticsRollupService.rebuild();
+    }
 
-        List<Feedback> pageContent = criticalFeedbacks.subList(start, end);
+    public Page<FeedbackView> getCriticalFeedbacks(PageRequest pageRequest) {
+        return feedbackRepository.findViews(CRITICAL_FILTER, pageRequest);
+    }
 
-        return new PageImpl<>(pageContent, pageRequest, criticalFeedbacks.size());
+    public CursorPage<FeedbackView> getCriticalFeedbacksAfter(String cursor, int size) {
+        return findAfterCursor(CRITICAL_FILTER, FeedbackCursor.decode(cursor), size);
     }
 
     public void markFeedbackResolved(Long feedbackId) {
@@ -126,20 +166,18 @@ public class AdminService {
     }
 
     public List<String> getAllBranches() {
-        return userRepository.findAll().stream()
-                .map(user -> user.getBranch())
-                .filter(Objects::nonNull)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return branchService.getAllBranchNames();
+    }
+
+    public BranchView createBranch(String name) {
+        return toView(branchService.createBranch(name));
+    }
+
+    public BranchView deactivateBranch(Long id) {
+        return toView(branchService.deactivateBranch(id));
     }
 
-    private List<Feedback> getFeedbacksForStats(String branch, Position position,
-                                                LocalDateTime start, LocalDateTime end) {
-        return feedbackRepository.findAll().stream()
-                .filter(f -> f.getCreatedAt().isAfter(start) && f.getCreatedAt().isBefore(end))
-                .filter(f -> branch == null || f.getUser().getBranch().equals(branch))
-                .filter(f -> position == null || f.getUser().getPosition().equals(position))
-                .collect(Collectors.toList());
+    private BranchView toView(Branch branch) {
+        return new BranchView(branch.getId(), branch.getName(), branch.isActive(), branch.getCreatedAt());
     }
 }
\ No newline at end of file
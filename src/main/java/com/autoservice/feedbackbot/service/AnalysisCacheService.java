@@ -0,0 +1,97 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.AnalysisResult;
+import com.autoservice.feedbackbot.enums.AnalysisSource;
+import com.autoservice.feedbackbot.repository.AnalysisCacheRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCacheService {
+
+    private final AnalysisCacheRepository analysisCacheRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, AnalysisResult> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "analysis");
+    }
+
+    public Optional<AnalysisResult> find(String message) {
+        String hash = hash(message);
+
+        AnalysisResult cached = cache.getIfPresent(hash);
+        if (cached == null) {
+            cached = analysisCacheRepository.findById(hash)
+                    .map(entry -> new AnalysisResult(entry.getSentiment(), entry.getCriticalityLevel(),
+                            entry.getSolution(), AnalysisSource.CACHE))
+                    .orElse(null);
+
+            if (cached != null) {
+                cache.put(hash, cached);
+            }
+        }
+
+        return Optional.ofNullable(cached)
+                .map(result -> new AnalysisResult(result.getSentiment(), result.getCriticality(),
+                        result.getSolution(), AnalysisSource.CACHE));
+    }
+
+    public void put(String message, AnalysisResult result) {
+        String hash = hash(message);
+        cache.put(hash, result);
+
+        try {
+            analysisCacheRepository.upsert(hash, result.getSentiment().name(), result.getCriticality(),
+                    result.getSolution());
+        } catch (DataAccessException e) {
+            log.debug("Analysis cache entry {} was not persisted: {}", hash, e.getMessage());
+        }
+    }
+
+    static String normalize(String message) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ");
+
+        return normalized.trim();
+    }
+
+    static String hash(String message) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalize(message).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.entity.Branch;
+import com.autoservice.feedbackbot.repository.BranchRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BranchService {
+
+    private static final String ACTIVE_BRANCHES = "active";
+
+    private final BranchRepository branchRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${branch.cache.expire-after-write-minutes:10}")
+    private long expireAfterWriteMinutes;
+
+    @Value("${branch.seed:}")
+    private List<String> seedBranches;
+
+    private LoadingCache<String, List<Branch>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build(key -> branchRepository.findByActiveTrueOrderByNameAsc());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "branches");
+    }
+
+    public List<Branch> getActiveBranches() {
+        return cache.get(ACTIVE_BRANCHES);
+    }
+
+    public List<String> getActiveBranchNames() {
+        return getActiveBranches().stream()
+                .map(Branch::getName)
+                .toList();
+    }
+
+    public List<String> getAllBranchNames() {
+        return branchRepository.findAllByOrderByNameAsc().stream()
+                .map(Branch::getName)
+                .toList();
+    }
+
+    public Optional<Branch> resolve(String input) {
+        if (input == null) {
+            return Optional.empty();
+        }
+
+        String normalizedName = normalize(input);
+        return getActiveBranches().stream()
+                .filter(branch -> branch.getNormalizedName().equals(normalizedName))
+                .findFirst();
+    }
+
+    public Branch createBranch(String name) {
+        String displayName = name.trim().replaceAll("\\s+", " ");
+        String normalizedName = normalize(displayName);
+        if (normalizedName.isEmpty()) {
+            throw new IllegalArgumentException("Branch name must not be empty");
+        }
+
+        Branch branch = branchRepository.findByNormalizedName(normalizedName).orElseGet(() -> {
+            Branch created = new Branch();
+            created.setName(displayName);
+            created.setNormalizedName(normalizedName);
+            return created;
+        });
+        branch.setActive(true);
+
+        Branch saved = branchRepository.save(branch);
+        cache.invalidateAll();
+        log.info("Branch {} is active", saved.getName());
+        return saved;
+    }
+
+    public Branch deactivateBranch(Long id) {
+        Branch branch = branchRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Branch not found: " + id));
+        branch.setActive(false);
+
+        Branch saved = branchRepository.save(branch);
+        cache.invalidateAll();
+        log.info("Branch {} is deactivated", saved.getName());
+        return saved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedBranches() {
+        if (seedBranches.isEmpty() || branchRepository.count() > 0) {
+            return;
+        }
+
+        try {
+            seedBranches.stream()
+                    .filter(name -> !name.isBlank())
+                    .forEach(this::createBranch);
+            log.info("Seeded {} branches from branch.seed", getActiveBranches().size());
+        } catch (DataIntegrityViolationException e) {
+            log.info("Branches were seeded by another instance");
+        }
+    }
+
+    static String normalize(String name) {
+        return name.replaceAll("[\\s_-]+", " ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,131 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.enums.CircuitState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+@Slf4j
+class CircuitBreaker {
+
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int recorded;
+    private int cursor;
+    private int failures;
+    private long openUntil;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                   long openDurationMs, int halfOpenCalls) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, openDurationMs, halfOpenCalls,
+                System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                   long openDurationMs, int halfOpenCalls, LongSupplier clock) {
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN) {
+            if (clock.getAsLong() < openUntil) {
+                return false;
+            }
+            transitionTo(CircuitState.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+
+        if (state == CircuitState.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == CircuitState.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(CircuitState.CLOSED);
+                resetWindow();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == CircuitState.HALF_OPEN) {
+            open();
+            return;
+        }
+
+        record(true);
+        if (state == CircuitState.CLOSED && recorded >= minimumCalls
+                && failures * 100 >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && halfOpenPermits < halfOpenCalls - halfOpenSuccesses) {
+            halfOpenPermits++;
+        }
+    }
+
+    synchronized CircuitState getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[cursor]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+
+        outcomes[cursor] = failure;
+        if (failure) {
+            failures++;
+        }
+        cursor = (cursor + 1) % outcomes.length;
+    }
+
+    private void open() {
+        transitionTo(CircuitState.OPEN);
+        openUntil = clock.getAsLong() + openDurationMs;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        cursor = 0;
+        failures = 0;
+    }
+
+    private void transitionTo(CircuitState newState) {
+        if (state != newState) {
+            log.warn("Circuit breaker for {} changed from {} to {}", name, state, newState);
+            state = newState;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CriticalFeedbackStreamService {
+
+    public static final int CRITICAL_LEVEL = 4;
+
+    private static final String EVENT_NAME = "critical-feedback";
+    private static final String PUBLISH_LOCK_KEY = "critical-feedback-stream";
+
+    private final FeedbackRepository feedbackRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${admin.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${admin.stream.replay-limit:500}")
+    private int replayLimit;
+
+    @Value("${admin.stream.max-subscribers:200}")
+    private int maxSubscribers;
+
+    private final Map<SseEmitter, Long> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService fanOut;
+    private Long lastPublishedId;
+
+    @PostConstruct
+    public void init() {
+        fanOut = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("critical-stream-"));
+        fanOut.execute(this::loadLastPublishedId);
+
+        Gauge.builder("feedback.stream.subscribers", subscribers, Map::size)
+                .description("Open critical feedback streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdown();
+        subscribers.keySet().forEach(SseEmitter::complete);
+    }
+
+    public Optional<SseEmitter> subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("Rejecting critical feedback stream, {} subscribers already connected", subscribers.size());
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+
+        fanOut.execute(() -> {
+            try {
+                publishNew();
+                Long lastSentId = lastEventId != null ? replay(emitter, lastEventId) : Long.valueOf(0L);
+                if (lastSentId != null) {
+                    subscribers.put(emitter, lastSentId);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not start critical feedback stream: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return Optional.of(emitter);
+    }
+
+    public void lockPublishOrder() {
+        feedbackRepository.lockForUpdate(PUBLISH_LOCK_KEY);
+    }
+
+    public void publishAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish();
+                }
+            });
+        } else {
+            publish();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${admin.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeat() {
+        if (!subscribers.isEmpty()) {
+            fanOut.execute(() -> {
+                publishSafely();
+                subscribers.keySet().forEach(emitter -> send(emitter, SseEmitter.event().comment("ping")));
+            });
+        }
+    }
+
+    private void publish() {
+        fanOut.execute(this::publishSafely);
+    }
+
+    private void publishSafely() {
+        try {
+            publishNew();
+        } catch (RuntimeException e) {
+            log.error("Could not publish new critical feedback: {}", e.getMessage());
+        }
+    }
+
+    private void loadLastPublishedId() {
+        try {
+            lastPublishedId = feedbackRepository.findMaxCriticalId(CRITICAL_LEVEL);
+        } catch (RuntimeException e) {
+            log.error("Could not load the last critical feedback id: {}", e.getMessage());
+        }
+    }
+
+    private void publishNew() {
+        if (lastPublishedId == null) {
+            loadLastPublishedId();
+            return;
+        }
+
+        List<FeedbackView> published;
+        do {
+            published = feedbackRepository.findCriticalViewsAfterId(
+                    lastPublishedId, CRITICAL_LEVEL, PageRequest.of(0, replayLimit));
+
+            for (FeedbackView feedback : published) {
+                subscribers.forEach((emitter, lastSentId) -> {
+                    if (feedback.getId() > lastSentId && send(emitter, toEvent(feedback))) {
+                        subscribers.replace(emitter, feedback.getId());
+                    }
+                });
+                lastPublishedId = feedback.getId();
+            }
+        } while (published.size() == replayLimit);
+    }
+
+    private Long replay(SseEmitter emitter, Long lastEventId) {
+        if (lastPublishedId == null) {
+            return lastEventId;
+        }
+
+        List<FeedbackView> missed = feedbackRepository.findCriticalViewsAfterId(
+                lastEventId, CRITICAL_LEVEL, PageRequest.of(0, replayLimit));
+
+        Long lastSentId = lastEventId;
+        for (FeedbackView feedback : missed) {
+            if (feedback.getId() > lastPublishedId) {
+                break;
+            }
+            if (!send(emitter, toEvent(feedback))) {
+                return null;
+            }
+            lastSentId = feedback.getId();
+        }
+        return lastSentId;
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(FeedbackView feedback) {
+        return SseEmitter.event()
+                .id(String.valueOf(feedback.getId()))
+                .name(EVENT_NAME)
+                .data(feedback);
+    }
+
+    private boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping critical feedback stream subscriber: {}", e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
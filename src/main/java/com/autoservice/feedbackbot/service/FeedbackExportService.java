@@ -0,0 +1,120 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.enums.ExportFormat;
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackExportService {
+
+    private static final String CSV_HEADER =
+            "id,createdAt,branch,position,sentiment,criticalityLevel,message,solution,trelloCardId\n";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final FeedbackRepository feedbackRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public void export(OutputStream outputStream, ExportFormat format, boolean gzip, String branch,
+                       Position position, Integer minCriticality, Sentiment sentiment) throws IOException {
+
+        String branchFilter = branch != null && !branch.trim().isEmpty() ? branch : null;
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 16384);
+        ObjectWriter jsonWriter = objectMapper.writerFor(FeedbackView.class);
+        AtomicLong rowCount = new AtomicLong();
+
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<FeedbackView> rows = feedbackRepository.streamForExport(
+                        branchFilter, position, minCriticality, sentiment)) {
+                    rows.forEach(row -> {
+                        try {
+                            if (format == ExportFormat.CSV) {
+                                writeCsvRow(writer, row);
+                            } else {
+                                writer.write(jsonWriter.writeValueAsString(row));
+                                writer.write('\n');
+                            }
+                            rowCount.incrementAndGet();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.close();
+        }
+
+        log.info("Exported {} feedbacks as {}{}", rowCount.get(), format, gzip ? " (gzip)" : "");
+    }
+
+    private void writeCsvRow(Writer writer, FeedbackView row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getCreatedAt() != null ? row.getCreatedAt().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.getBranch()));
+        writer.write(',');
+        writer.write(row.getPosition() != null ? row.getPosition().name() : "");
+        writer.write(',');
+        writer.write(row.getSentiment() != null ? row.getSentiment().name() : "");
+        writer.write(',');
+        writer.write(row.getCriticalityLevel() != null ? row.getCriticalityLevel().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.getMessage()));
+        writer.write(',');
+        writer.write(csvField(row.getSolution()));
+        writer.write(',');
+        writer.write(csvField(row.getTrelloCardId()));
+        writer.write('\n');
+    }
+
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+
+        boolean formula = FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+        if (!formula && value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        String escaped = value.replace("\"", "\"\"");
+        return '"' + (formula ? "'" + escaped : escaped) + '"';
+    }
+}
@@ -0,0 +1,103 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.enums.AnalysisSource;
+import com.autoservice.feedbackbot.enums.JobStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FALLBACK = "fallback";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean firstUpdateRecorded = new AtomicBoolean();
+
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordStage(Timer.Sample sample, JobStage stage, String outcome) {
+        recordStage(sample, stage.name().toLowerCase(), outcome);
+    }
+
+    public void recordStage(Timer.Sample sample, String stage, String outcome) {
+        sample.stop(Timer.builder("feedback.pipeline.stage")
+                .description("Time spent in one feedback pipeline stage")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void recordEndToEnd(Duration duration, String outcome) {
+        Timer.builder("feedback.pipeline.end-to-end")
+                .description("Time from receiving a feedback message to the final reply")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void recordIntegrationCall(Timer.Sample sample, String integration, String operation, String outcome) {
+        sample.stop(Timer.builder("feedback.integration.call")
+                .description("Outbound call latency per integration")
+                .tag("integration", integration)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void countAnalysis(AnalysisSource source) {
+        Counter.builder("feedback.analysis")
+                .description("Feedback analyses by where the result came from")
+                .tag("source", source.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void registerCircuitBreaker(String integration, CircuitBreaker circuitBreaker) {
+        Gauge.builder("feedback.integration.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state per integration (0 closed, 1 half-open, 2 open)")
+                .tag("integration", integration)
+                .register(meterRegistry);
+    }
+
+    public void countHedge(String integration, String winner) {
+        Counter.builder("feedback.integration.hedge")
+                .description("Hedged outbound calls by which request answered first")
+                .tag("integration", integration)
+                .tag("winner", winner)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordFirstUpdate() {
+        if (!firstUpdateRecorded.compareAndSet(false, true)) {
+            return;
+        }
+
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("feedback.startup.time-to-first-update", () -> uptimeMs, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start to the first Telegram update accepted")
+                .register(meterRegistry);
+
+        log.info("First Telegram update accepted {} ms after JVM start", uptimeMs);
+    }
+}
@@ -0,0 +1,38 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackPartitionService {
+
+    private final FeedbackRepository feedbackRepository;
+
+    @Value("${feedback.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${feedback.partitions.maintenance-cron:0 0 3 * * *}")
+    public void ensureUpcomingPartitions() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+        try {
+            int created = feedbackRepository.ensurePartitions(currentMonth, currentMonth.plusMonths(monthsAhead));
+            if (created > 0) {
+                log.info("Created {} monthly feedback partitions", created);
+            }
+        } catch (Exception e) {
+            log.error("Error creating feedback partitions: {}", e.getMessage());
+        }
+    }
+}
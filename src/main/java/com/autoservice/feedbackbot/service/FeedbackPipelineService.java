@@ -0,0 +1,449 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.AnalysisResult;
+import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.entity.FeedbackJob;
+import com.autoservice.feedbackbot.entity.User;
+import com.autoservice.feedbackbot.enums.AnalysisSource;
+import com.autoservice.feedbackbot.enums.JobStage;
+import com.autoservice.feedbackbot.repository.FeedbackJobRepository;
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import com.autoservice.feedbackbot.repository.UserRepository;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackPipelineService {
+
+    private static final Set<JobStage> TERMINAL_STAGES = EnumSet.of(JobStage.COMPLETED, JobStage.FAILED);
+
+    private final FeedbackJobRepository feedbackJobRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final NearDuplicateService nearDuplicateService;
+    private final OpenAiService openAiService;
+    private final GoogleDocsService googleDocsService;
+    private final TrelloIncidentService trelloIncidentService;
+    private final StatisticsRollupService statisticsRollupService;
+    private final CriticalFeedbackStreamService criticalFeedbackStreamService;
+    private final TelegramMessageSender telegramMessageSender;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedbackMetrics feedbackMetrics;
+
+    @Value("${pipeline.analyze.threads:4}")
+    private int analyzeThreads;
+
+    @Value("${pipeline.persist.threads:2}")
+    private int persistThreads;
+
+    @Value("${pipeline.docs.threads:2}")
+    private int docsThreads;
+
+    @Value("${pipeline.trello.threads:1}")
+    private int trelloThreads;
+
+    @Value("${pipeline.reply.threads:2}")
+    private int replyThreads;
+
+    @Value("${pipeline.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${pipeline.trello.max-attempts:20}")
+    private int trelloMaxAttempts;
+
+    @Value("${pipeline.retry.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${pipeline.retry.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${pipeline.sweep.batch-size:100}")
+    private int sweepBatchSize;
+
+    @Value("${pipeline.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${pipeline.reply.timeout-ms:600000}")
+    private long replyTimeoutMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<JobStage, ExecutorService> executors = new EnumMap<>(JobStage.class);
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        executors.put(JobStage.ANALYZE, newStageExecutor("analyze", analyzeThreads));
+        executors.put(JobStage.PERSIST, newStageExecutor("persist", persistThreads));
+        executors.put(JobStage.DOCS, newStageExecutor("docs", docsThreads));
+        executors.put(JobStage.TRELLO, newStageExecutor("trello", trelloThreads));
+        executors.put(JobStage.REPLY, newStageExecutor("reply", replyThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+    }
+
+    public FeedbackJob enqueue(User user, String messageText) {
+        FeedbackJob job = new FeedbackJob();
+        job.setChatId(user.getChatId());
+        job.setMessage(messageText);
+        job.setStage(JobStage.ANALYZE);
+        job.setNextAttemptAt(LocalDateTime.now());
+
+        FeedbackJob saved = feedbackJobRepository.save(job);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(saved);
+                }
+            });
+        } else {
+            dispatch(saved);
+        }
+        return saved;
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.sweep.interval-ms:5000}")
+    public void resumePendingJobs() {
+        List<FeedbackJob> dueJobs = feedbackJobRepository.findDueJobs(
+                TERMINAL_STAGES, LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+
+        dueJobs.forEach(this::dispatch);
+    }
+
+    private void dispatch(FeedbackJob job) {
+        if (!inFlight.add(job.getId())) {
+            return;
+        }
+
+        try {
+            executors.get(job.getStage()).execute(() -> runStage(job.getId()));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(job.getId());
+            log.warn("Pipeline executor rejected job {} at stage {}", job.getId(), job.getStage());
+        }
+    }
+
+    private void runStage(Long jobId) {
+        FeedbackJob job;
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (feedbackJobRepository.claim(jobId, TERMINAL_STAGES, instanceId, now,
+                    now.plusNanos(leaseMs * 1_000_000)) == 0) {
+                inFlight.remove(jobId);
+                return;
+            }
+
+            job = feedbackJobRepository.findById(jobId).orElse(null);
+        } catch (Exception e) {
+            log.error("Error running pipeline job {}: {}", jobId, e.getMessage());
+            inFlight.remove(jobId);
+            return;
+        }
+
+        if (job == null || job.getStage().isTerminal()) {
+            inFlight.remove(jobId);
+            return;
+        }
+
+        FeedbackJob claimed = job;
+        JobStage stage = job.getStage();
+        Timer.Sample sample = feedbackMetrics.startTimer();
+
+        CompletableFuture<FeedbackJob> result;
+        try {
+            result = executeStage(job);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        result.whenComplete((updated, error) -> completeStage(claimed, stage, sample, updated, error));
+    }
+
+    private void completeStage(FeedbackJob claimed, JobStage stage, Timer.Sample sample,
+                               FeedbackJob updated, Throwable error) {
+        FeedbackJob job;
+
+        try {
+            if (error == null) {
+                feedbackMetrics.recordStage(sample, stage, FeedbackMetrics.OUTCOME_SUCCESS);
+                job = updated;
+            } else {
+                feedbackMetrics.recordStage(sample, stage, FeedbackMetrics.OUTCOME_ERROR);
+                job = recordFailure(claimed, stage, unwrap(error));
+            }
+        } catch (Exception e) {
+            log.error("Error running pipeline job {}: {}", claimed.getId(), e.getMessage());
+            return;
+        } finally {
+            inFlight.remove(claimed.getId());
+        }
+
+        if (!job.getStage().isTerminal() && !job.getNextAttemptAt().isAfter(LocalDateTime.now())) {
+            dispatch(job);
+        }
+    }
+
+    private CompletableFuture<FeedbackJob> executeStage(FeedbackJob job) throws Exception {
+        switch (job.getStage()) {
+            case ANALYZE:
+                return analyze(job);
+            case PERSIST:
+                return CompletableFuture.completedFuture(persist(job));
+            case DOCS:
+                return writeToDocs(job);
+            case TRELLO:
+                return CompletableFuture.completedFuture(createTrelloCard(job));
+            case REPLY:
+                return CompletableFuture.completedFuture(reply(job));
+            default:
+                throw new IllegalStateException("Unexpected pipeline stage: " + job.getStage());
+        }
+    }
+
+    private CompletableFuture<FeedbackJob> analyze(FeedbackJob job) {
+        Optional<Feedback> original = nearDuplicateService.findOriginal(branchOf(job), job.getMessage());
+        if (original.isPresent()) {
+            Feedback feedback = original.get();
+            job.setSentiment(feedback.getSentiment());
+            job.setCriticalityLevel(feedback.getCriticalityLevel());
+            job.setSolution(feedback.getSolution());
+            job.setAnalysisSource(AnalysisSource.DUPLICATE);
+            job.setDuplicateOfFeedbackId(feedback.getId());
+            feedbackMetrics.countAnalysis(AnalysisSource.DUPLICATE);
+
+            return CompletableFuture.completedFuture(advance(job, JobStage.PERSIST));
+        }
+
+        return openAiService.analyzeFeedback(job.getMessage(), executors.get(JobStage.ANALYZE))
+                .thenApply(analysis -> {
+                    job.setSentiment(analysis.getSentiment());
+                    job.setCriticalityLevel(analysis.getCriticality());
+                    job.setSolution(analysis.getSolution());
+                    job.setAnalysisSource(analysis.getSource());
+
+                    return advance(job, JobStage.PERSIST);
+                });
+    }
+
+    private FeedbackJob persist(FeedbackJob job) {
+        FeedbackJob persisted = transactionTemplate.execute(status -> {
+            User user = userRepository.findById(job.getChatId())
+                    .orElseThrow(() -> new IllegalStateException("User not found: " + job.getChatId()));
+
+            Feedback feedback = new Feedback();
+            feedback.setUser(user);
+            feedback.setMessage(job.getMessage());
+            feedback.setSentiment(job.getSentiment());
+            feedback.setCriticalityLevel(job.getCriticalityLevel());
+            feedback.setSolution(job.getSolution());
+            feedback.setAnalysisSource(job.getAnalysisSource());
+            feedback.setDuplicateOfId(job.getDuplicateOfFeedbackId());
+            feedback.setCreatedAt(job.getCreatedAt());
+
+            boolean critical = feedback.getCriticalityLevel() >= CriticalFeedbackStreamService.CRITICAL_LEVEL;
+            if (critical) {
+                criticalFeedbackStreamService.lockPublishOrder();
+            }
+
+            feedback = feedbackRepository.save(feedback);
+            statisticsRollupService.record(feedback);
+
+            if (critical) {
+                criticalFeedbackStreamService.publishAfterCommit();
+            }
+
+            job.setFeedbackId(feedback.getId());
+            return advance(job, job.getDuplicateOfFeedbackId() != null ? JobStage.REPLY : JobStage.DOCS);
+        });
+
+        if (persisted.getDuplicateOfFeedbackId() == null) {
+            nearDuplicateService.index(persisted.getFeedbackId(), branchOf(persisted), persisted.getMessage());
+        }
+        return persisted;
+    }
+
+    private CompletableFuture<FeedbackJob> writeToDocs(FeedbackJob job) throws Exception {
+        Feedback feedback = loadFeedback(job);
+
+        if (feedback.getGoogleDocEntryId() != null) {
+            if (googleDocsService.containsEntry(feedback.getGoogleDocEntryId())) {
+                log.info("Feedback {} is already in the Google Doc, not adding it again", feedback.getId());
+                return CompletableFuture.completedFuture(advance(job, JobStage.TRELLO));
+            }
+        } else {
+            feedback.setGoogleDocEntryId(GoogleDocsService.entryId(feedback.getId()));
+            feedbackRepository.save(feedback);
+        }
+
+        return googleDocsService.addFeedbackToDoc(feedback)
+                .thenApplyAsync(written -> advance(job, JobStage.TRELLO), executors.get(JobStage.DOCS));
+    }
+
+    private FeedbackJob createTrelloCard(FeedbackJob job) throws Exception {
+        if (job.getCriticalityLevel() >= 4) {
+            Feedback feedback = loadFeedback(job);
+
+            if (feedback.getTrelloCardId() == null) {
+                String cardId = trelloIncidentService.report(job, feedback);
+                feedback.setTrelloCardId(cardId);
+                feedbackRepository.save(feedback);
+            }
+        }
+
+        return advance(job, JobStage.REPLY);
+    }
+
+    private FeedbackJob reply(FeedbackJob job) {
+        String responseMessage = String.format(
+                "Analysis of your feedback is ready ✅\n\n" +
+                        "Analysis:\n" +
+                        "• Sentiment: %s\n" +
+                        "• Priority Level: %d/5\n" +
+                        "• Suggested Solution: %s\n\n" +
+                        "Your feedback has been recorded anonymously and will be reviewed by management.",
+                job.getSentiment().toString().toLowerCase(),
+                job.getCriticalityLevel(),
+                job.getSolution()
+        );
+
+        job.setNextAttemptAt(LocalDateTime.now().plusNanos(replyTimeoutMs * 1_000_000));
+        job = release(job);
+
+        Long jobId = job.getId();
+        telegramMessageSender.sendText(job.getChatId(), responseMessage)
+                .whenCompleteAsync((sent, error) -> onReplyCompleted(jobId, error), executors.get(JobStage.REPLY));
+
+        return job;
+    }
+
+    private void onReplyCompleted(Long jobId, Throwable error) {
+        try {
+            FeedbackJob job = feedbackJobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStage() != JobStage.REPLY) {
+                return;
+            }
+
+            if (error == null) {
+                job = advance(job, JobStage.COMPLETED);
+            } else if (TelegramMessageSender.isPermanentFailure(error)) {
+                log.warn("Telegram rejected the reply for job {}, not retrying: {}", jobId, error.getMessage());
+                job = advance(job, JobStage.COMPLETED);
+            } else {
+                job = recordFailure(job, JobStage.REPLY, unwrap(error));
+            }
+
+            if (job.getStage().isTerminal()) {
+                feedbackMetrics.recordEndToEnd(Duration.between(job.getCreatedAt(), LocalDateTime.now()),
+                        error == null ? FeedbackMetrics.OUTCOME_SUCCESS : FeedbackMetrics.OUTCOME_ERROR);
+            }
+        } catch (Exception e) {
+            log.error("Error completing reply for pipeline job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    private String branchOf(FeedbackJob job) {
+        return userCacheService.findById(job.getChatId()).map(User::getBranch).orElse(null);
+    }
+
+    private Feedback loadFeedback(FeedbackJob job) {
+        return feedbackRepository.findWithUserById(job.getFeedbackId())
+                .orElseThrow(() -> new IllegalStateException("Feedback not found: " + job.getFeedbackId()));
+    }
+
+    private FeedbackJob advance(FeedbackJob job, JobStage nextStage) {
+        job.setStage(nextStage);
+        job.setAttempts(0);
+        job.setLastError(null);
+        job.setNextAttemptAt(LocalDateTime.now());
+        return release(job);
+    }
+
+    private FeedbackJob release(FeedbackJob job) {
+        job.setLockedBy(null);
+        job.setLockedUntil(null);
+        return feedbackJobRepository.save(job);
+    }
+
+    private FeedbackJob recordFailure(FeedbackJob job, JobStage stage, Exception e) {
+        int attempts = job.getAttempts() + 1;
+        int stageMaxAttempts = stage == JobStage.TRELLO ? trelloMaxAttempts : maxAttempts;
+        log.error("Pipeline stage {} failed for job {} (attempt {}/{}): {}",
+                stage, job.getId(), attempts, stageMaxAttempts, e.getMessage());
+
+        if (attempts >= stageMaxAttempts) {
+            if (stage == JobStage.ANALYZE || stage == JobStage.PERSIST) {
+                job.setStage(JobStage.FAILED);
+                job.setAttempts(attempts);
+                job.setLastError(truncate(e.getMessage()));
+                feedbackMetrics.recordEndToEnd(Duration.between(job.getCreatedAt(), LocalDateTime.now()),
+                        FeedbackMetrics.OUTCOME_ERROR);
+                return release(job);
+            }
+
+            log.warn("Giving up on stage {} for job {}, continuing with the next stage", stage, job.getId());
+            return advance(job, nextStage(stage));
+        }
+
+        long backoffMs = Math.min(initialBackoffMs << (attempts - 1), maxBackoffMs);
+
+        job.setAttempts(attempts);
+        job.setLastError(truncate(e.getMessage()));
+        job.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMs * 1_000_000));
+        return release(job);
+    }
+
+    private Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    }
+
+    private JobStage nextStage(JobStage stage) {
+        return JobStage.values()[stage.ordinal() + 1];
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+
+    private ExecutorService newStageExecutor(String stageName, int threads) {
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("pipeline-" + stageName + "-"));
+    }
+}
@@ -10,19 +10,35 @@ import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.docs.v1.Docs;
 import com.google.api.services.docs.v1.DocsScopes;
 import com.google.api.services.docs.v1.model.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -39,59 +55,263 @@ public class GoogleDocsService {
     @Value("${google.credentials.file.path}")
     private String credentialsFilePath;
 
-    private Docs docsService;
+    @Value("${google.docs.root-url:https://docs.googleapis.com/}")
+    private String rootUrl;
 
-   @PostConstruct
-    public void init() throws GeneralSecurityException, IOException {
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+    @Value("${google.docs.batch.max-size:20}")
+    private int batchMaxSize;
 
-        GoogleCredential credential = GoogleCredential
-                .fromStream(new FileInputStream(credentialsFilePath))
-                .createScoped(SCOPES);
+    @Value("${google.docs.batch.flush-interval-ms:2000}")
+    private long flushIntervalMs;
 
-        docsService = new Docs.Builder(httpTransport, JSON_FACTORY, credential)
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+    @Value("${google.docs.batch.max-attempts:3}")
+    private int maxFlushAttempts;
+
+    @Value("${google.docs.batch.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${google.docs.batch.submit-timeout-ms:60000}")
+    private long submitTimeoutMs;
+
+    private final MeterRegistry meterRegistry;
+    private final FeedbackMetrics feedbackMetrics;
+    private final BlockingQueue<PendingEntry> buffer = new LinkedBlockingQueue<>();
+
+    private volatile Docs docsService;
+    private ScheduledExecutorService flusher;
+    private Timer flushTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter flushFailureCounter;
+
+    @PostConstruct
+    public void init() {
+        flushTimer = Timer.builder("google.docs.flush")
+                .description("Time to write one batch of feedback entries to Google Docs")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("google.docs.batch.size")
+                .description("Feedback entries written per Google Docs batch")
+                .register(meterRegistry);
+        flushFailureCounter = Counter.builder("google.docs.flush.failures")
+                .description("Google Docs batches that failed after all retries")
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("docs-batch-"));
+        flusher.scheduleWithFixedDelay(this::flushPending, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpClient() {
+        flusher.execute(() -> {
+            try {
+                docs();
+            } catch (IOException e) {
+                log.error("Google Docs client is not available, entries will be retried: {}", e.getMessage());
+            }
+        });
     }
 
-    public void addFeedbackToDoc(Feedback feedback) throws IOException {
-        String feedbackText = formatFeedbackText(feedback);
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.execute(this::flushPending);
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<Void> addFeedbackToDoc(Feedback feedback) {
+        PendingEntry entry = new PendingEntry(feedback.getId(), formatFeedbackText(feedback));
+
+        buffer.add(entry);
+        if (buffer.size() >= batchMaxSize) {
+            flusher.execute(this::flushPending);
+        }
+
+        CompletableFuture.delayedExecutor(submitTimeoutMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (buffer.remove(entry)) {
+                entry.result.completeExceptionally(new IOException("Timed out waiting for Google Docs batch flush"));
+            }
+        });
+        return entry.result;
+    }
+
+    private void flushPending() {
+        int flushed;
+        do {
+            List<PendingEntry> batch = new ArrayList<>();
+            buffer.drainTo(batch, batchMaxSize);
+            flushed = batch.size();
+
+            if (!batch.isEmpty()) {
+                flushBatch(batch);
+            }
+        } while (flushed == batchMaxSize);
+    }
+
+    private void flushBatch(List<PendingEntry> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        batchSizeSummary.record(batch.size());
+
+        try {
+            writeBatch(batch);
+            batch.forEach(entry -> entry.result.complete(null));
+
+            log.info("Added {} feedback entries to Google Doc: {}", batch.size(),
+                    batch.stream().map(entry -> entry.feedbackId).collect(Collectors.toList()));
+        } catch (Exception e) {
+            flushFailureCounter.increment();
+            log.error("Failed to flush {} feedback entries to Google Docs: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> entry.result.completeExceptionally(e));
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void writeBatch(List<PendingEntry> batch) throws IOException, InterruptedException {
+        List<PendingEntry> newestFirst = new ArrayList<>(batch);
+        Collections.reverse(newestFirst);
+
+        String batchText = newestFirst.stream()
+                .map(entry -> entry.text)
+                .collect(Collectors.joining());
+        BatchUpdateDocumentRequest batchUpdateRequest = buildBatchRequest(newestFirst, batchText);
+
+        IOException lastError = null;
+        for (int attempt = 1; attempt <= maxFlushAttempts; attempt++) {
+            if (attempt > 1) {
+                Thread.sleep(retryBackoffMs * (attempt - 1));
+
+                try {
+                    if (isBatchApplied(batchText)) {
+                        log.info("Google Docs batch was applied by an earlier attempt, skipping retry");
+                        return;
+                    }
+                } catch (IOException e) {
+                    lastError = e;
+                    continue;
+                }
+            }
+
+            Timer.Sample sample = feedbackMetrics.startTimer();
+            try {
+                docs().documents()
+                        .batchUpdate(documentId, batchUpdateRequest)
+                        .execute();
+                feedbackMetrics.recordIntegrationCall(sample, "google_docs", "batch_update",
+                        FeedbackMetrics.OUTCOME_SUCCESS);
+                return;
+            } catch (IOException e) {
+                feedbackMetrics.recordIntegrationCall(sample, "google_docs", "batch_update",
+                        FeedbackMetrics.OUTCOME_ERROR);
+                lastError = e;
+                log.warn("Google Docs batch attempt {}/{} failed: {}", attempt, maxFlushAttempts, e.getMessage());
+            }
+        }
 
+        throw lastError;
+    }
+
+    private BatchUpdateDocumentRequest buildBatchRequest(List<PendingEntry> newestFirst, String batchText) {
         List<Request> requests = new ArrayList<>();
 
         requests.add(new Request()
                 .setInsertText(new InsertTextRequest()
-                        .setText(feedbackText)
+                        .setText(batchText)
                         .setLocation(new Location().setIndex(1))
                 )
         );
 
-        requests.add(new Request()
-                .setUpdateTextStyle(new UpdateTextStyleRequest()
-                        .setRange(new Range()
-                                .setStartIndex(1)
-                                .setEndIndex(feedbackText.length() + 1))
-                        .setTextStyle(new TextStyle()
-                                .setFontSize(new Dimension().setMagnitude(11.0).setUnit("PT")))
-                        .setFields("fontSize")
-                )
-        );
+        int startIndex = 1;
+        for (PendingEntry entry : newestFirst) {
+            int endIndex = startIndex + entry.text.length();
+
+            requests.add(new Request()
+                    .setUpdateTextStyle(new UpdateTextStyleRequest()
+                            .setRange(new Range()
+                                    .setStartIndex(startIndex)
+                                    .setEndIndex(endIndex))
+                            .setTextStyle(new TextStyle()
+                                    .setFontSize(new Dimension().setMagnitude(11.0).setUnit("PT")))
+                            .setFields("fontSize")
+                    )
+            );
+
+            startIndex = endIndex;
+        }
+
+        return new BatchUpdateDocumentRequest().setRequests(requests);
+    }
+
+    public boolean containsEntry(String entryId) throws IOException {
+        return readText(Integer.MAX_VALUE).lines().anyMatch(line -> line.equals("Entry ID: " + entryId));
+    }
+
+    private boolean isBatchApplied(String batchText) throws IOException {
+        return readText(batchText.length()).startsWith(batchText);
+    }
 
-        BatchUpdateDocumentRequest batchUpdateRequest = new BatchUpdateDocumentRequest()
-                .setRequests(requests);
+    private String readText(int minLength) throws IOException {
+        Document document = docs().documents().get(documentId).execute();
 
-        docsService.documents()
-                .batchUpdate(documentId, batchUpdateRequest)
-                .execute();
+        StringBuilder text = new StringBuilder();
+        for (StructuralElement element : document.getBody().getContent()) {
+            if (element.getParagraph() == null) {
+                continue;
+            }
+            for (ParagraphElement paragraphElement : element.getParagraph().getElements()) {
+                if (paragraphElement.getTextRun() != null) {
+                    text.append(paragraphElement.getTextRun().getContent());
+                }
+            }
+            if (text.length() >= minLength) {
+                break;
+            }
+        }
 
-        log.info("Added feedback to Google Doc: {}", feedback.getId());
+        return text.toString();
     }
 
-    private String formatFeedbackText(Feedback feedback) {
+    private Docs docs() throws IOException {
+        Docs docs = docsService;
+        if (docs == null) {
+            synchronized (this) {
+                if (docsService == null) {
+                    docsService = createDocsClient();
+                }
+                docs = docsService;
+            }
+        }
+        return docs;
+    }
+
+    private Docs createDocsClient() throws IOException {
+        NetHttpTransport httpTransport;
+        try {
+            httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Could not create Google HTTP transport", e);
+        }
+
+        GoogleCredential credential;
+        try (FileInputStream credentialsStream = new FileInputStream(credentialsFilePath)) {
+            credential = GoogleCredential.fromStream(credentialsStream).createScoped(SCOPES);
+        }
+
+        return new Docs.Builder(httpTransport, JSON_FACTORY, credential)
+                .setApplicationName(APPLICATION_NAME)
+                .setRootUrl(rootUrl)
+                .build();
+    }
+
+    public static String entryId(Long feedbackId) {
+        return "feedback-" + feedbackId;
+    }
+
+    String formatFeedbackText(Feedback feedback) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
         return String.format(
                 "=== FEEDBACK ENTRY ===\n" +
+                        "Entry ID: %s\n" +
                         "Date: %s\n" +
                         "Position: %s\n" +
                         "Branch: %s\n" +
@@ -100,6 +320,7 @@ public class GoogleDocsService {
                         "Message: %s\n" +
                         "Suggested Solution: %s\n" +
                         "Trello Card: %s\n\n",
+                entryId(feedback.getId()),
                 feedback.getCreatedAt().format(formatter),
                 feedback.getUser().getPosition().getDisplayName(),
                 feedback.getUser().getBranch(),
@@ -110,4 +331,15 @@ public class GoogleDocsService {
                 feedback.getTrelloCardId() != null ? "Created" : "N/A"
         );
     }
-}
\ No newline at end of file
+
+    private static class PendingEntry {
+        private final Long feedbackId;
+        private final String text;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private PendingEntry(Long feedbackId, String text) {
+            this.feedbackId = feedbackId;
+            this.text = text;
+        }
+    }
+}
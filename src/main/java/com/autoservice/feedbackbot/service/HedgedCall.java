@@ -0,0 +1,49 @@
+package com.autoservice.feedbackbot.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+final class HedgedCall {
+
+    static final String PRIMARY = "primary";
+    static final String HEDGE = "hedge";
+
+    private HedgedCall() {
+    }
+
+    static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call, Executor hedgeExecutor,
+                                          Consumer<String> hedgedWinner) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        AtomicBoolean hedged = new AtomicBoolean();
+
+        race(call.get(), PRIMARY, winner, running, hedged, hedgedWinner);
+
+        hedgeExecutor.execute(() -> {
+            if (!winner.isDone()) {
+                running.incrementAndGet();
+                hedged.set(true);
+                race(call.get(), HEDGE, winner, running, hedged, hedgedWinner);
+            }
+        });
+
+        return winner;
+    }
+
+    private static <T> void race(CompletableFuture<T> call, String name, CompletableFuture<T> winner,
+                                 AtomicInteger running, AtomicBoolean hedged, Consumer<String> hedgedWinner) {
+        call.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result) && hedged.get()) {
+                    hedgedWinner.accept(name);
+                }
+            } else if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(error);
+            }
+        });
+    }
+}
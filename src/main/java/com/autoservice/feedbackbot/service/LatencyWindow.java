@@ -0,0 +1,35 @@
+package com.autoservice.feedbackbot.service;
+
+import java.util.Arrays;
+
+class LatencyWindow {
+
+    private final long[] samples;
+    private int count;
+    private int cursor;
+
+    LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    synchronized void record(long latencyMs) {
+        samples[cursor] = latencyMs;
+        cursor = (cursor + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+}
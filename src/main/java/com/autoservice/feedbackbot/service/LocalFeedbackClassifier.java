@@ -0,0 +1,109 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.AnalysisResult;
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.enums.AnalysisSource;
+import com.autoservice.feedbackbot.enums.Sentiment;
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocalFeedbackClassifier {
+
+    private static final int MAX_CRITICALITY = 5;
+
+    private final FeedbackRepository feedbackRepository;
+
+    @Value("${feedback.classifier.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feedback.classifier.max-training-rows:20000}")
+    private int maxTrainingRows;
+
+    @Value("${feedback.classifier.min-training-rows:100}")
+    private int minTrainingRows;
+
+    private volatile Models models;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${feedback.classifier.retrain-cron:0 30 * * * *}")
+    public void retrain() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<FeedbackView> labeled = feedbackRepository.findRecentByAnalysisSource(
+                    AnalysisSource.REMOTE, PageRequest.of(0, maxTrainingRows));
+            if (labeled.size() < minTrainingRows) {
+                log.info("Local classifier not trained: {} labeled feedbacks, {} required",
+                        labeled.size(), minTrainingRows);
+                return;
+            }
+
+            List<String[]> documents = new ArrayList<>(labeled.size());
+            int[] sentimentLabels = new int[labeled.size()];
+            int[] criticalityLabels = new int[labeled.size()];
+            for (int i = 0; i < labeled.size(); i++) {
+                FeedbackView view = labeled.get(i);
+                documents.add(words(view.getMessage()));
+                sentimentLabels[i] = view.getSentiment().ordinal();
+                criticalityLabels[i] = Math.max(1, Math.min(MAX_CRITICALITY, view.getCriticalityLevel())) - 1;
+            }
+
+            Models trained = new Models(
+                    NaiveBayesModel.train(documents, sentimentLabels, Sentiment.values().length),
+                    NaiveBayesModel.train(documents, criticalityLabels, MAX_CRITICALITY));
+            models = trained;
+
+            log.info("Trained local classifier on {} feedbacks ({} words)",
+                    labeled.size(), trained.sentiment.vocabularySize());
+        } catch (Exception e) {
+            log.error("Error training local classifier: {}", e.getMessage());
+        }
+    }
+
+    public Optional<AnalysisResult> classify(String message) {
+        Models current = models;
+        if (current == null || message == null) {
+            return Optional.empty();
+        }
+
+        String[] words = words(message);
+        Sentiment sentiment = Sentiment.values()[current.sentiment.predict(words)];
+        int criticality = current.criticality.predict(words) + 1;
+
+        return Optional.of(new AnalysisResult(sentiment, criticality, OpenAiService.DEFAULT_SOLUTION,
+                AnalysisSource.LOCAL_MODEL));
+    }
+
+    private static String[] words(String message) {
+        String normalized = message != null ? AnalysisCacheService.normalize(message) : "";
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static class Models {
+        private final NaiveBayesModel sentiment;
+        private final NaiveBayesModel criticality;
+
+        private Models(NaiveBayesModel sentiment, NaiveBayesModel criticality) {
+            this.sentiment = sentiment;
+            this.criticality = criticality;
+        }
+    }
+}
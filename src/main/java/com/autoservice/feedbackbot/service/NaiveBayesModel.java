@@ -0,0 +1,77 @@
+package com.autoservice.feedbackbot.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class NaiveBayesModel {
+
+    private final double[] logPriors;
+    private final double[] unknownWordLogLikelihoods;
+    private final Map<String, double[]> wordLogLikelihoods;
+
+    private NaiveBayesModel(double[] logPriors, double[] unknownWordLogLikelihoods,
+                            Map<String, double[]> wordLogLikelihoods) {
+        this.logPriors = logPriors;
+        this.unknownWordLogLikelihoods = unknownWordLogLikelihoods;
+        this.wordLogLikelihoods = wordLogLikelihoods;
+    }
+
+    static NaiveBayesModel train(List<String[]> documents, int[] labels, int classCount) {
+        int[] documentCounts = new int[classCount];
+        long[] wordTotals = new long[classCount];
+        Map<String, int[]> wordCounts = new HashMap<>();
+
+        for (int i = 0; i < documents.size(); i++) {
+            int label = labels[i];
+            documentCounts[label]++;
+
+            for (String word : documents.get(i)) {
+                wordCounts.computeIfAbsent(word, key -> new int[classCount])[label]++;
+                wordTotals[label]++;
+            }
+        }
+
+        int vocabularySize = wordCounts.size() + 1;
+        double[] logPriors = new double[classCount];
+        double[] unknownWordLogLikelihoods = new double[classCount];
+        for (int label = 0; label < classCount; label++) {
+            logPriors[label] = Math.log((documentCounts[label] + 1.0) / (documents.size() + classCount));
+            unknownWordLogLikelihoods[label] = Math.log(1.0 / (wordTotals[label] + vocabularySize));
+        }
+
+        Map<String, double[]> wordLogLikelihoods = new HashMap<>(wordCounts.size() * 2);
+        for (Map.Entry<String, int[]> entry : wordCounts.entrySet()) {
+            double[] logLikelihoods = new double[classCount];
+            for (int label = 0; label < classCount; label++) {
+                logLikelihoods[label] = Math.log((entry.getValue()[label] + 1.0) / (wordTotals[label] + vocabularySize));
+            }
+            wordLogLikelihoods.put(entry.getKey(), logLikelihoods);
+        }
+
+        return new NaiveBayesModel(logPriors, unknownWordLogLikelihoods, wordLogLikelihoods);
+    }
+
+    int predict(String[] words) {
+        double[] scores = logPriors.clone();
+
+        for (String word : words) {
+            double[] logLikelihoods = wordLogLikelihoods.getOrDefault(word, unknownWordLogLikelihoods);
+            for (int label = 0; label < scores.length; label++) {
+                scores[label] += logLikelihoods[label];
+            }
+        }
+
+        int best = 0;
+        for (int label = 1; label < scores.length; label++) {
+            if (scores[label] > scores[best]) {
+                best = label;
+            }
+        }
+        return best;
+    }
+
+    int vocabularySize() {
+        return wordLogLikelihoods.size();
+    }
+}
@@ -0,0 +1,126 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.FeedbackView;
+import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearDuplicateService {
+
+    private final FeedbackRepository feedbackRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${feedback.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feedback.dedup.max-entries:50000}")
+    private int maxEntries;
+
+    @Value("${feedback.dedup.max-distance:3}")
+    private int maxDistance;
+
+    @Value("${feedback.dedup.window-hours:72}")
+    private long windowHours;
+
+    @Value("${feedback.dedup.min-words:5}")
+    private int minWords;
+
+    private SimHashIndex index;
+
+    @PostConstruct
+    public void init() {
+        index = new SimHashIndex(maxEntries);
+
+        Gauge.builder("feedback.dedup.index.size", index, SimHashIndex::size)
+                .description("Feedbacks held in the near-duplicate index")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentFeedbacks() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+            List<FeedbackView> recent = feedbackRepository.findRecentOriginals(since, PageRequest.of(0, maxEntries));
+
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                FeedbackView view = recent.get(i);
+                add(view.getId(), view.getBranch(), view.getMessage(), toMillis(view.getCreatedAt()));
+            }
+
+            log.info("Loaded {} recent feedbacks into the near-duplicate index ({} KB budget)",
+                    recent.size(), SimHashIndex.estimateBytes(maxEntries) / 1024);
+        } catch (Exception e) {
+            log.error("Error loading near-duplicate index: {}", e.getMessage());
+        }
+    }
+
+    public Optional<Feedback> findOriginal(String branch, String message) {
+        if (!enabled || branch == null) {
+            return Optional.empty();
+        }
+
+        String[] words = words(message);
+        if (words.length < minWords) {
+            return Optional.empty();
+        }
+
+        long notBefore = System.currentTimeMillis() - Duration.ofHours(windowHours).toMillis();
+        long feedbackId = index.findNearest(SimHashIndex.fingerprint(words), branch.hashCode(), notBefore, maxDistance);
+        if (feedbackId < 0) {
+            return Optional.empty();
+        }
+
+        return feedbackRepository.findWithUserById(feedbackId)
+                .filter(feedback -> branch.equals(feedback.getUser().getBranch()));
+    }
+
+    public void index(Long feedbackId, String branch, String message) {
+        if (enabled) {
+            add(feedbackId, branch, message, System.currentTimeMillis());
+        }
+    }
+
+    private void add(Long feedbackId, String branch, String message, long createdAt) {
+        if (feedbackId == null || branch == null || message == null) {
+            return;
+        }
+
+        String[] words = words(message);
+        if (words.length >= minWords) {
+            index.add(SimHashIndex.fingerprint(words), feedbackId, branch.hashCode(), createdAt);
+        }
+    }
+
+    private static String[] words(String message) {
+        String normalized = AnalysisCacheService.normalize(message);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
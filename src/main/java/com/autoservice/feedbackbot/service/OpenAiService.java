@@ -1,26 +1,54 @@
 package com.autoservice.feedbackbot.service;
 
 import com.autoservice.feedbackbot.dto.AnalysisResult;
+import com.autoservice.feedbackbot.enums.AnalysisSource;
 import com.autoservice.feedbackbot.enums.Sentiment;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OpenAiService {
 
+    static final String DEFAULT_SOLUTION = "Review and address the concern raised by employee.";
+
+    private static final int MAX_TOKENS_PER_ANALYSIS = 200;
+
+    @Qualifier("openAiRestTemplate")
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final AnalysisCacheService analysisCacheService;
+    private final LocalFeedbackClassifier localFeedbackClassifier;
+    private final FeedbackMetrics feedbackMetrics;
 
     @Value("${openai.api.key}")
     private String apiKey;
@@ -28,14 +56,287 @@ public class OpenAiService {
     @Value("${openai.api.url}")
     private String apiUrl;
 
-    public AnalysisResult analyzeFeedback(String message) {
+    @Value("${openai.latency-budget-ms:10000}")
+    private long latencyBudgetMs;
+
+    @Value("${http.openai.max-concurrent-calls:10}")
+    private int maxConcurrentCalls;
+
+    @Value("${openai.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${openai.circuit-breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${openai.circuit-breaker.failure-rate-threshold:50}")
+    private int breakerFailureRateThreshold;
+
+    @Value("${openai.circuit-breaker.open-duration-ms:30000}")
+    private long breakerOpenDurationMs;
+
+    @Value("${openai.circuit-breaker.half-open-calls:3}")
+    private int breakerHalfOpenCalls;
+
+    @Value("${openai.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${openai.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${openai.hedge.min-samples:50}")
+    private int hedgeMinSamples;
+
+    @Value("${openai.hedge.min-delay-ms:500}")
+    private long hedgeMinDelayMs;
+
+    @Value("${openai.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${openai.batch.max-size:10}")
+    private int batchMaxSize;
+
+    @Value("${openai.batch.max-wait-ms:200}")
+    private long batchMaxWaitMs;
+
+    @Value("${openai.batch.result-timeout-ms:60000}")
+    private long batchResultTimeoutMs;
+
+    private final BlockingQueue<PendingAnalysis> pendingAnalyses = new LinkedBlockingQueue<>();
+
+    private final LatencyWindow latencyWindow = new LatencyWindow(200);
+
+    private CircuitBreaker circuitBreaker;
+    private ThreadPoolExecutor callExecutor;
+    private ScheduledExecutorService batcher;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = new CircuitBreaker("openai", breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, breakerOpenDurationMs, breakerHalfOpenCalls);
+        feedbackMetrics.registerCircuitBreaker("openai", circuitBreaker);
+
+        callExecutor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls,
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), new CustomizableThreadFactory("openai-call-"));
+        callExecutor.allowCoreThreadTimeOut(true);
+
+        if (batchEnabled) {
+            batcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("openai-batch-"));
+            batcher.scheduleWithFixedDelay(this::flushPending, batchMaxWaitMs, batchMaxWaitMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdown();
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    public CompletableFuture<AnalysisResult> analyzeFeedback(String message, Executor completionExecutor) {
+        AnalysisResult cached = analysisCacheService.find(message).orElse(null);
+        if (cached != null) {
+            feedbackMetrics.countAnalysis(cached.getSource());
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        if (batchEnabled) {
+            return analyzeInBatch(message)
+                    .thenApplyAsync(result -> recordResult(message, result), completionExecutor);
+        }
+        return CompletableFuture.completedFuture(recordResult(message, analyzeSingle(message)));
+    }
+
+    private AnalysisResult recordResult(String message, AnalysisResult result) {
+        feedbackMetrics.countAnalysis(result.getSource());
+
+        if (result.getSource() == AnalysisSource.REMOTE) {
+            analysisCacheService.put(message, result);
+        }
+        return result;
+    }
+
+    private AnalysisResult analyzeSingle(String message) {
+        return analyzeSingleAsync(message).join();
+    }
+
+    private CompletableFuture<AnalysisResult> analyzeSingleAsync(String message) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(fallbackAnalysis(message));
+        }
+
+        Timer.Sample sample = feedbackMetrics.startTimer();
+        CompletableFuture<AnalysisResult> remote = hedgeEnabled ? callHedged(message) : callRemote(message);
+
+        return withinBudget(remote, sample, "analyze")
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return result;
+                    }
+                    if (unwrap(error) instanceof TimeoutException) {
+                        remote.thenAccept(late -> analysisCacheService.put(message, late));
+                    }
+                    return fallbackAnalysis(message);
+                });
+    }
+
+    private <T> CompletableFuture<T> withinBudget(CompletableFuture<T> remote, Timer.Sample sample, String operation) {
+        return remote.copy()
+                .orTimeout(latencyBudgetMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    Throwable cause = unwrap(error);
+                    if (cause == null) {
+                        circuitBreaker.onSuccess();
+                    } else if (cause instanceof RejectedExecutionException) {
+                        log.warn("All {} OpenAI call slots are busy, using the local classifier", maxConcurrentCalls);
+                        circuitBreaker.release();
+                    } else if (cause instanceof TimeoutException) {
+                        log.warn("OpenAI {} exceeded the {} ms latency budget, using the local classifier",
+                                operation, latencyBudgetMs);
+                        circuitBreaker.onFailure();
+                    } else {
+                        log.error("Error in OpenAI {}: {}", operation, cause.getMessage());
+                        circuitBreaker.onFailure();
+                    }
+
+                    feedbackMetrics.recordIntegrationCall(sample, "openai", operation,
+                            cause == null ? FeedbackMetrics.OUTCOME_SUCCESS : FeedbackMetrics.OUTCOME_FALLBACK);
+                });
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, callExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<AnalysisResult> callRemote(String message) {
+        long startedAt = System.nanoTime();
+
+        return submit(() -> analyzeRemote(message)).thenApply(result -> {
+            latencyWindow.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return result;
+        });
+    }
+
+    private CompletableFuture<AnalysisResult> callHedged(String message) {
+        if (latencyWindow.size() < hedgeMinSamples) {
+            return callRemote(message);
+        }
+
+        long hedgeDelayMs = Math.max(hedgeMinDelayMs, latencyWindow.percentile(hedgePercentile));
+        return HedgedCall.start(() -> callRemote(message),
+                CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS),
+                winner -> feedbackMetrics.countHedge("openai", winner));
+    }
+
+    private AnalysisResult analyzeRemote(String message) {
         try {
-            String prompt = createAnalysisPrompt(message);
-            String response = callOpenAiApi(prompt);
-            return parseResponse(response);
+            String response = callOpenAiApi(createAnalysisPrompt(message), MAX_TOKENS_PER_ANALYSIS);
+            AnalysisResult result = parseResponse(response);
+            if (result.getSource() != AnalysisSource.REMOTE) {
+                throw new IllegalStateException("OpenAI response could not be parsed");
+            }
+            return result;
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error analyzing feedback: {}", e.getMessage());
-            return createDefaultAnalysis();
+            throw new CompletionException(e);
+        }
+    }
+
+    private CompletableFuture<AnalysisResult> analyzeInBatch(String message) {
+        PendingAnalysis pending = new PendingAnalysis(message);
+
+        pendingAnalyses.add(pending);
+        if (pendingAnalyses.size() >= batchMaxSize) {
+            batcher.execute(this::flushPending);
+        }
+
+        return pending.result
+                .orTimeout(batchResultTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.error("Error waiting for batched analysis: {}", e.getMessage());
+                    return fallbackAnalysis(message);
+                });
+    }
+
+    private void flushPending() {
+        int drained;
+        do {
+            if (callExecutor.getActiveCount() >= maxConcurrentCalls) {
+                return;
+            }
+
+            List<PendingAnalysis> batch = new ArrayList<>();
+            pendingAnalyses.drainTo(batch, batchMaxSize);
+            drained = batch.size();
+
+            if (drained == 1) {
+                PendingAnalysis pending = batch.get(0);
+                analyzeSingleAsync(pending.message).thenAccept(pending.result::complete);
+            } else if (drained > 1) {
+                analyzeBatch(batch);
+            }
+        } while (drained == batchMaxSize);
+    }
+
+    private void analyzeBatch(List<PendingAnalysis> batch) {
+        if (!circuitBreaker.tryAcquire()) {
+            completeBatch(batch, List.of());
+            return;
+        }
+
+        Timer.Sample sample = feedbackMetrics.startTimer();
+        List<String> messages = batch.stream().map(pending -> pending.message).toList();
+        CompletableFuture<List<AnalysisResult>> remote = submit(() -> analyzeBatchRemote(messages));
+
+        withinBudget(remote, sample, "analyze_batch").whenComplete((results, error) -> {
+            if (error == null) {
+                log.debug("Analyzed feedback batch of {} messages in one request", batch.size());
+                completeBatch(batch, results);
+                return;
+            }
+
+            if (unwrap(error) instanceof TimeoutException) {
+                remote.thenAccept(late -> cacheBatchResults(messages, late));
+            }
+            completeBatch(batch, List.of());
+        });
+    }
+
+    private List<AnalysisResult> analyzeBatchRemote(List<String> messages) {
+        try {
+            String response = callOpenAiApi(createBatchAnalysisPrompt(messages),
+                    MAX_TOKENS_PER_ANALYSIS * messages.size());
+            return parseBatchResponse(response, messages.size());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void completeBatch(List<PendingAnalysis> batch, List<AnalysisResult> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            AnalysisResult result = i < results.size() && results.get(i) != null
+                    ? results.get(i)
+                    : fallbackAnalysis(batch.get(i).message);
+            batch.get(i).result.complete(result);
+        }
+    }
+
+    private void cacheBatchResults(List<String> messages, List<AnalysisResult> results) {
+        for (int i = 0; i < messages.size() && i < results.size(); i++) {
+            if (results.get(i) != null) {
+                analysisCacheService.put(messages.get(i), results.get(i));
+            }
         }
     }
 
@@ -51,7 +352,26 @@ public class OpenAiService {
         );
     }
 
-    private String callOpenAiApi(String prompt) throws Exception {
+    private String createBatchAnalysisPrompt(List<String> messages) {
+        StringBuilder feedbackList = new StringBuilder();
+        for (int i = 0; i < messages.size(); i++) {
+            feedbackList.append(i + 1).append(". \"").append(messages.get(i)).append("\"\n");
+        }
+
+        return String.format(
+                "Analyze each of these %d employee feedback messages from an auto service company. " +
+                        "Provide response as a JSON array with one object per message, in the same order, " +
+                        "with fields: " +
+                        "index (the number of the message), " +
+                        "sentiment (POSITIVE/NEUTRAL/NEGATIVE), " +
+                        "criticality (1-5 scale where 1=low, 5=critical), " +
+                        "solution (suggested solution in English).\n\n" +
+                        "Feedback:\n%s\n" +
+                        "Response (JSON array only):", messages.size(), feedbackList
+        );
+    }
+
+    private String callOpenAiApi(String prompt, int maxTokens) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(apiKey);
@@ -61,7 +381,7 @@ public class OpenAiService {
                 "messages", List.of(
                         Map.of("role", "user", "content", prompt)
                 ),
-                "max_tokens", 200,
+                "max_tokens", maxTokens,
                 "temperature", 0.3
         );
 
@@ -76,25 +396,59 @@ public class OpenAiService {
         }
     }
 
-    private AnalysisResult parseResponse(String response) {
+    AnalysisResult parseResponse(String response) {
         try {
             String jsonPart = extractJsonFromResponse(response);
             JsonNode json = objectMapper.readTree(jsonPart);
 
-            String sentimentStr = json.get("sentiment").asText();
-            int criticality = json.get("criticality").asInt();
-            String solution = json.get("solution").asText();
-
-            Sentiment sentiment = Sentiment.valueOf(sentimentStr.toUpperCase());
-
-            return new AnalysisResult(sentiment, criticality, solution);
+            return parseAnalysis(json);
         } catch (Exception e) {
             log.error("Error parsing OpenAI response: {}", e.getMessage());
             return createDefaultAnalysis();
         }
     }
 
-    private String extractJsonFromResponse(String response) {
+    private List<AnalysisResult> parseBatchResponse(String response, int expectedSize) throws Exception {
+        int startIndex = response.indexOf("[");
+        int endIndex = response.lastIndexOf("]");
+        if (startIndex == -1 || endIndex <= startIndex) {
+            throw new IllegalArgumentException("No JSON array in batch response");
+        }
+
+        JsonNode array = objectMapper.readTree(response.substring(startIndex, endIndex + 1));
+
+        List<AnalysisResult> results = new ArrayList<>();
+        for (int i = 0; i < expectedSize; i++) {
+            results.add(null);
+        }
+
+        for (int i = 0; i < array.size(); i++) {
+            JsonNode json = array.get(i);
+            int position = json.has("index") ? json.get("index").asInt() - 1 : i;
+
+            if (position >= 0 && position < expectedSize) {
+                try {
+                    results.set(position, parseAnalysis(json));
+                } catch (Exception e) {
+                    log.error("Error parsing batch item {}: {}", position + 1, e.getMessage());
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private AnalysisResult parseAnalysis(JsonNode json) {
+        String sentimentStr = json.get("sentiment").asText();
+        int criticality = json.get("criticality").asInt();
+        String solution = json.get("solution").asText();
+
+        Sentiment sentiment = Sentiment.valueOf(sentimentStr.toUpperCase());
+
+        return new AnalysisResult(sentiment, criticality, solution, AnalysisSource.REMOTE);
+    }
+
+    String extractJsonFromResponse(String response) {
         int startIndex = response.indexOf("{");
         int endIndex = response.lastIndexOf("}");
 
@@ -105,7 +459,20 @@ public class OpenAiService {
         return response;
     }
 
+    private AnalysisResult fallbackAnalysis(String message) {
+        return localFeedbackClassifier.classify(message).orElseGet(this::createDefaultAnalysis);
+    }
+
     private AnalysisResult createDefaultAnalysis() {
-        return new AnalysisResult(Sentiment.NEUTRAL, 3, "Review and address the concern raised by employee.");
+        return new AnalysisResult(Sentiment.NEUTRAL, 3, DEFAULT_SOLUTION, AnalysisSource.DEFAULT);
+    }
+
+    private static class PendingAnalysis {
+        private final String message;
+        private final CompletableFuture<AnalysisResult> result = new CompletableFuture<>();
+
+        private PendingAnalysis(String message) {
+            this.message = message;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.autoservice.feedbackbot.service;
+
+import java.util.Arrays;
+
+class SimHashIndex {
+
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 64 / BANDS;
+    private static final int BAND_MASK = (1 << BAND_BITS) - 1;
+    private static final int EMPTY = -1;
+
+    private final int capacity;
+    private final long[] fingerprints;
+    private final long[] feedbackIds;
+    private final int[] groupKeys;
+    private final long[] createdAtMillis;
+    private final int[][] heads = new int[BANDS][1 << BAND_BITS];
+    private final int[][] next;
+    private final int[][] prev;
+
+    private int cursor;
+    private int size;
+
+    SimHashIndex(int capacity) {
+        this.capacity = capacity;
+        this.fingerprints = new long[capacity];
+        this.feedbackIds = new long[capacity];
+        this.groupKeys = new int[capacity];
+        this.createdAtMillis = new long[capacity];
+        this.next = new int[BANDS][capacity];
+        this.prev = new int[BANDS][capacity];
+
+        for (int[] bandHeads : heads) {
+            Arrays.fill(bandHeads, EMPTY);
+        }
+    }
+
+    static long fingerprint(String[] words) {
+        int[] weights = new int[Long.SIZE];
+
+        if (words.length == 1) {
+            addShingle(weights, words[0]);
+        }
+        for (int i = 0; i + 1 < words.length; i++) {
+            addShingle(weights, words[i] + ' ' + words[i + 1]);
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    static long estimateBytes(int capacity) {
+        return (long) BANDS * (1 << BAND_BITS) * Integer.BYTES
+                + (long) capacity * (3 * Long.BYTES + Integer.BYTES + 2 * BANDS * Integer.BYTES);
+    }
+
+    synchronized void add(long fingerprint, long feedbackId, int groupKey, long createdAt) {
+        int slot = cursor;
+        cursor = (cursor + 1) % capacity;
+
+        if (size == capacity) {
+            unlink(slot);
+        } else {
+            size++;
+        }
+
+        fingerprints[slot] = fingerprint;
+        feedbackIds[slot] = feedbackId;
+        groupKeys[slot] = groupKey;
+        createdAtMillis[slot] = createdAt;
+
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bandValue(fingerprint, band);
+            int head = heads[band][bucket];
+
+            next[band][slot] = head;
+            prev[band][slot] = EMPTY;
+            if (head != EMPTY) {
+                prev[band][head] = slot;
+            }
+            heads[band][bucket] = slot;
+        }
+    }
+
+    synchronized long findNearest(long fingerprint, int groupKey, long notBefore, int maxDistance) {
+        long bestFeedbackId = EMPTY;
+        int bestDistance = maxDistance + 1;
+
+        for (int band = 0; band < BANDS; band++) {
+            for (int slot = heads[band][bandValue(fingerprint, band)]; slot != EMPTY; slot = next[band][slot]) {
+                if (groupKeys[slot] != groupKey || createdAtMillis[slot] < notBefore) {
+                    continue;
+                }
+
+                int distance = Long.bitCount(fingerprints[slot] ^ fingerprint);
+                if (distance < bestDistance
+                        || (distance == bestDistance && feedbackIds[slot] < bestFeedbackId)) {
+                    bestDistance = distance;
+                    bestFeedbackId = feedbackIds[slot];
+                }
+            }
+        }
+
+        return bestFeedbackId;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void unlink(int slot) {
+        for (int band = 0; band < BANDS; band++) {
+            int before = prev[band][slot];
+            int after = next[band][slot];
+
+            if (before != EMPTY) {
+                next[band][before] = after;
+            } else {
+                heads[band][bandValue(fingerprints[slot], band)] = after;
+            }
+            if (after != EMPTY) {
+                prev[band][after] = before;
+            }
+        }
+    }
+
+    private static void addShingle(int[] weights, String shingle) {
+        long hash = mix(fnv1a(shingle));
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+        }
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static int bandValue(long fingerprint, int band) {
+        return (int) (fingerprint >>> (band * BAND_BITS)) & BAND_MASK;
+    }
+}
@@ -0,0 +1,100 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.StatisticsRow;
+import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.repository.FeedbackRepository;
+import com.autoservice.feedbackbot.repository.FeedbackStatsBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsRollupService {
+
+    private final FeedbackStatsBucketRepository feedbackStatsBucketRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public void record(Feedback feedback) {
+        feedbackStatsBucketRepository.increment(
+                feedback.getCreatedAt().truncatedTo(ChronoUnit.HOURS),
+                feedback.getUser().getBranch() != null ? feedback.getUser().getBranch() : "",
+                feedback.getUser().getPosition() != null ? feedback.getUser().getPosition().name() : "",
+                feedback.getSentiment().name(),
+                feedback.getCriticalityLevel());
+    }
+
+    public int rebuild() {
+        int buckets = transactionTemplate.execute(status -> {
+            feedbackStatsBucketRepository.lockForRebuild();
+            return rebuildLocked();
+        });
+
+        log.info("Rebuilt statistics rollup: {} hourly buckets", buckets);
+        return buckets;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        Integer buckets = transactionTemplate.execute(status -> {
+            feedbackStatsBucketRepository.lockForRebuild();
+            if (feedbackStatsBucketRepository.isRollupBuilt()) {
+                return null;
+            }
+            return rebuildLocked();
+        });
+
+        if (buckets != null) {
+            log.info("Statistics rollup was not built yet, rebuilt {} hourly buckets from feedback history", buckets);
+        }
+    }
+
+    private int rebuildLocked() {
+        feedbackStatsBucketRepository.deleteAllBuckets();
+        int buckets = feedbackStatsBucketRepository.rebuildFromFeedbacks();
+        feedbackStatsBucketRepository.markRollupBuilt();
+        return buckets;
+    }
+
+    public List<StatisticsRow> aggregate(String branch, Position position,
+                                         LocalDateTime start, LocalDateTime end) {
+        String positionName = position != null ? position.name() : null;
+
+        LocalDateTime firstFullHour = start.truncatedTo(ChronoUnit.HOURS);
+        if (firstFullHour.isBefore(start)) {
+            firstFullHour = firstFullHour.plusHours(1);
+        }
+        LocalDateTime lastFullHour = end.truncatedTo(ChronoUnit.HOURS);
+
+        if (!firstFullHour.isBefore(lastFullHour)) {
+            return feedbackRepository.aggregateStatistics(branch, positionName, start, end);
+        }
+
+        List<StatisticsRow> rows = new ArrayList<>(
+                feedbackStatsBucketRepository.aggregateStatistics(branch, positionName, firstFullHour, lastFullHour));
+
+        if (start.isBefore(firstFullHour)) {
+            rows.addAll(feedbackRepository.aggregateStatistics(branch, positionName, start, firstFullHour));
+        }
+        if (lastFullHour.isBefore(end)) {
+            rows.addAll(feedbackRepository.aggregateStatistics(branch, positionName, lastFullHour, end));
+        }
+
+        return rows;
+    }
+}
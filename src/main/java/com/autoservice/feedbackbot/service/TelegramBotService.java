@@ -1,48 +1,64 @@
 package com.autoservice.feedbackbot.service;
 
-import com.autoservice.feedbackbot.dto.AnalysisResult;
-import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.entity.Branch;
 import com.autoservice.feedbackbot.entity.User;
 import com.autoservice.feedbackbot.enums.Position;
+import com.autoservice.feedbackbot.enums.TelegramMode;
 import com.autoservice.feedbackbot.enums.UserState;
-import com.autoservice.feedbackbot.repository.FeedbackRepository;
-import com.autoservice.feedbackbot.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.Update;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardButton;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardRow;
-import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TelegramBotService extends TelegramLongPollingBot {
 
-    private final UserRepository userRepository;
-    private final FeedbackRepository feedbackRepository;
-    private final OpenAiService openAiService;
-    private final GoogleDocsService googleDocsService;
-    private final TrelloService trelloService;
+    private static final int BRANCH_BUTTONS_PER_ROW = 2;
 
-    @Value("${telegram.bot.token}")
-    private String botToken;
+    private final UserCacheService userCacheService;
+    private final BranchService branchService;
+    private final FeedbackPipelineService feedbackPipelineService;
+    private final UpdateDispatcher updateDispatcher;
+    private final TelegramMessageSender telegramMessageSender;
+    private final FeedbackMetrics feedbackMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${telegram.bot.username}")
     private String botUsername;
 
-    @Override
-    public String getBotToken() {
-        return botToken;
+    @Value("${telegram.mode:polling}")
+    private TelegramMode mode;
+
+    public TelegramBotService(DefaultBotOptions botOptions,
+                              @Value("${telegram.bot.token}") String botToken,
+                              UserCacheService userCacheService,
+                              BranchService branchService,
+                              FeedbackPipelineService feedbackPipelineService,
+                              UpdateDispatcher updateDispatcher,
+                              TelegramMessageSender telegramMessageSender,
+                              FeedbackMetrics feedbackMetrics,
+                              TransactionTemplate transactionTemplate) {
+        super(botOptions, botToken);
+        this.userCacheService = userCacheService;
+        this.branchService = branchService;
+        this.feedbackPipelineService = feedbackPipelineService;
+        this.updateDispatcher = updateDispatcher;
+        this.telegramMessageSender = telegramMessageSender;
+        this.feedbackMetrics = feedbackMetrics;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -52,21 +68,43 @@ public class TelegramBotService extends TelegramLongPollingBot {
 
     @Override
     public void onUpdateReceived(Update update) {
-        if (update.hasMessage() && update.getMessage().hasText()) {
-            Long chatId = update.getMessage().getChatId();
-            String messageText = update.getMessage().getText();
+        if (!accept(update)) {
+            sendMessage(update.getMessage().getChatId(),
+                    "We are receiving a lot of messages right now. Please try again in a minute.");
+        }
+    }
+
+    public boolean accept(Update update) {
+        feedbackMetrics.recordFirstUpdate();
+
+        if (!update.hasMessage() || !update.getMessage().hasText()) {
+            return true;
+        }
+
+        Long chatId = update.getMessage().getChatId();
+        String messageText = update.getMessage().getText();
 
-            try {
+        return updateDispatcher.dispatch(chatId, () -> handleTextMessage(chatId, messageText));
+    }
+
+    private void handleTextMessage(Long chatId, String messageText) {
+        try {
+            if (mode == TelegramMode.WEBHOOK) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userCacheService.lockChat(chatId);
+                    processMessage(chatId, messageText);
+                });
+            } else {
                 processMessage(chatId, messageText);
-            } catch (Exception e) {
-                log.error("Error processing message: {}", e.getMessage());
-                sendMessage(chatId, "Sorry, an error occurred while processing your message.");
             }
+        } catch (Exception e) {
+            log.error("Error processing message: {}", e.getMessage());
+            sendMessage(chatId, "Sorry, an error occurred while processing your message.");
         }
     }
 
     private void processMessage(Long chatId, String messageText) {
-        Optional<User> userOptional = userRepository.findById(chatId);
+        Optional<User> userOptional = userCacheService.findById(chatId);
 
         if (userOptional.isEmpty()) {
             handleNewUser(chatId, messageText);
@@ -81,7 +119,7 @@ public class TelegramBotService extends TelegramLongPollingBot {
             User newUser = new User();
             newUser.setChatId(chatId);
             newUser.setState(UserState.WAITING_POSITION);
-            userRepository.save(newUser);
+            userCacheService.save(newUser);
 
             sendPositionKeyboard(chatId);
         } else {
@@ -110,18 +148,24 @@ public class TelegramBotService extends TelegramLongPollingBot {
             Position position = Position.valueOf(messageText.toUpperCase());
             user.setPosition(position);
             user.setState(UserState.WAITING_BRANCH);
-            userRepository.save(user);
+            userCacheService.save(user);
 
-            sendMessage(user.getChatId(), "Great! Now please enter your branch name:");
+            sendBranchKeyboard(user.getChatId());
         } catch (IllegalArgumentException e) {
             sendPositionKeyboard(user.getChatId());
         }
     }
 
     private void handleBranchSelection(User user, String messageText) {
-        user.setBranch(messageText);
+        Optional<Branch> branch = branchService.resolve(messageText);
+        if (branch.isEmpty()) {
+            sendBranchKeyboard(user.getChatId());
+            return;
+        }
+
+        user.setBranch(branch.get().getName());
         user.setState(UserState.REGISTERED);
-        userRepository.save(user);
+        userCacheService.save(user);
 
         sendMessage(user.getChatId(),
                 String.format("Perfect! You're registered as a %s at %s branch. " +
@@ -136,59 +180,54 @@ public class TelegramBotService extends TelegramLongPollingBot {
             return;
         }
 
-        AnalysisResult analysis = openAiService.analyzeFeedback(messageText);
-
-        Feedback feedback = new Feedback();
-        feedback.setUser(user);
-        feedback.setMessage(messageText);
-        feedback.setSentiment(analysis.getSentiment());
-        feedback.setCriticalityLevel(analysis.getCriticality());
-        feedback.setSolution(analysis.getSolution());
+        Timer.Sample sample = feedbackMetrics.startTimer();
+        feedbackPipelineService.enqueue(user, messageText);
+        feedbackMetrics.recordStage(sample, "enqueue", FeedbackMetrics.OUTCOME_SUCCESS);
 
-        feedback = feedbackRepository.save(feedback);
+        sendMessage(user.getChatId(),
+                "Thank you for your feedback! ✅\n\n" +
+                        "It has been received and is being analyzed. " +
+                        "You will get the analysis results here shortly.");
+    }
 
-        try {
-               googleDocsService.addFeedbackToDoc(feedback);
-        } catch (Exception e) {
-            log.error("Failed to save to Google Docs: {}", e.getMessage());
+    private void sendPositionKeyboard(Long chatId) {
+        List<String> positions = new ArrayList<>();
+        for (Position position : Position.values()) {
+            positions.add(position.name());
         }
 
-        if (feedback.getCriticalityLevel() >= 4) {
-            try {
-                String cardId = trelloService.createCriticalFeedbackCard(feedback);
-                feedback.setTrelloCardId(cardId);
-                feedbackRepository.save(feedback);
-            } catch (Exception e) {
-                log.error("Failed to create Trello card: {}", e.getMessage());
-            }
+        sendKeyboard(chatId, "Please select your position:", positions, 1);
+    }
+
+    private void sendBranchKeyboard(Long chatId) {
+        List<String> branches = branchService.getActiveBranchNames();
+        if (branches.isEmpty()) {
+            log.warn("No active branches configured, user {} cannot finish registration", chatId);
+            sendMessage(chatId, "No branches have been set up yet, so registration cannot be finished. " +
+                    "Please ask your manager to add your branch, then send any message to continue.");
+            return;
         }
 
-        String responseMessage = String.format(
-                "Thank you for your feedback! ✅\n\n" +
-                        "Analysis:\n" +
-                        "• Sentiment: %s\n" +
-                        "• Priority Level: %d/5\n" +
-                        "• Suggested Solution: %s\n\n" +
-                        "Your feedback has been recorded anonymously and will be reviewed by management.",
-                analysis.getSentiment().toString().toLowerCase(),
-                analysis.getCriticality(),
-                analysis.getSolution()
-        );
-
-        sendMessage(user.getChatId(), responseMessage);
+        sendKeyboard(chatId, "Great! Now please select your branch:", branches, BRANCH_BUTTONS_PER_ROW);
     }
 
-    private void sendPositionKeyboard(Long chatId) {
+    private void sendKeyboard(Long chatId, String text, List<String> options, int buttonsPerRow) {
         SendMessage message = new SendMessage();
         message.setChatId(chatId);
-        message.setText("Please select your position:");
+        message.setText(text);
 
         ReplyKeyboardMarkup keyboard = new ReplyKeyboardMarkup();
         List<KeyboardRow> keyboardRows = new ArrayList<>();
 
-        for (Position position : Position.values()) {
-            KeyboardRow row = new KeyboardRow();
-            row.add(new KeyboardButton(position.name()));
+        KeyboardRow row = new KeyboardRow();
+        for (String option : options) {
+            row.add(new KeyboardButton(option));
+            if (row.size() == buttonsPerRow) {
+                keyboardRows.add(row);
+                row = new KeyboardRow();
+            }
+        }
+        if (!row.isEmpty()) {
             keyboardRows.add(row);
         }
 
@@ -198,22 +237,10 @@ public class TelegramBotService extends TelegramLongPollingBot {
 
         message.setReplyMarkup(keyboard);
 
-        try {
-            execute(message);
-        } catch (TelegramApiException e) {
-            log.error("Error sending keyboard: {}", e.getMessage());
-        }
+        telegramMessageSender.send(chatId, message, "send_keyboard");
     }
 
     private void sendMessage(Long chatId, String text) {
-        SendMessage message = new SendMessage();
-        message.setChatId(chatId);
-        message.setText(text);
-
-        try {
-            execute(message);
-        } catch (TelegramApiException e) {
-            log.error("Error sending message: {}", e.getMessage());
-        }
+        telegramMessageSender.sendText(chatId, text);
     }
 }
\ No newline at end of file
@@ -0,0 +1,302 @@
+package com.autoservice.feedbackbot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.telegram.telegrambots.bots.DefaultAbsSender;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class TelegramMessageSender extends DefaultAbsSender {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final FeedbackMetrics feedbackMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${telegram.outbound.global-rate-per-second:25}")
+    private double globalRatePerSecond;
+
+    @Value("${telegram.outbound.global-burst:25}")
+    private int globalBurst;
+
+    @Value("${telegram.outbound.per-chat-rate-per-second:1}")
+    private double perChatRatePerSecond;
+
+    @Value("${telegram.outbound.per-chat-burst:2}")
+    private int perChatBurst;
+
+    @Value("${telegram.outbound.senders:8}")
+    private int senders;
+
+    @Value("${telegram.outbound.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${telegram.outbound.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${telegram.outbound.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    private final Map<Long, ChatQueue> chatQueues = new ConcurrentHashMap<>();
+    private final DelayQueue<ChatQueue> readyChats = new DelayQueue<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+
+    private TokenBucket globalBucket;
+    private ExecutorService senderPool;
+    private Thread schedulerThread;
+    private Counter rateLimitedCounter;
+    private Counter droppedCounter;
+
+    public TelegramMessageSender(DefaultBotOptions botOptions,
+                                 @Value("${telegram.bot.token}") String botToken,
+                                 FeedbackMetrics feedbackMetrics,
+                                 MeterRegistry meterRegistry) {
+        super(botOptions, botToken);
+        this.feedbackMetrics = feedbackMetrics;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        globalBucket = new TokenBucket(globalRatePerSecond, globalBurst);
+        senderPool = Executors.newFixedThreadPool(senders, new CustomizableThreadFactory("telegram-sender-"));
+
+        Gauge.builder("telegram.outbound.queue.depth", pendingMessages, AtomicInteger::get)
+                .description("Outbound Telegram messages waiting to be sent")
+                .register(meterRegistry);
+        rateLimitedCounter = Counter.builder("telegram.outbound.rate-limited")
+                .description("Outbound Telegram messages answered with 429 Too Many Requests")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("telegram.outbound.dropped")
+                .description("Outbound Telegram messages dropped because the queue was full or retries ran out")
+                .register(meterRegistry);
+
+        schedulerThread = new CustomizableThreadFactory("telegram-outbound-").newThread(this::runScheduler);
+        schedulerThread.setDaemon(true);
+        schedulerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        schedulerThread.interrupt();
+        senderPool.shutdown();
+        senderPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<Void> sendText(Long chatId, String text) {
+        SendMessage message = new SendMessage();
+        message.setChatId(chatId);
+        message.setText(text);
+
+        return send(chatId, message, "send_message");
+    }
+
+    public CompletableFuture<Void> send(Long chatId, SendMessage message, String operation) {
+        OutboundMessage outbound = new OutboundMessage(message, operation);
+
+        if (pendingMessages.incrementAndGet() > queueCapacity) {
+            pendingMessages.decrementAndGet();
+            droppedCounter.increment();
+            log.warn("Outbound Telegram queue is full, dropping message to chat {}", chatId);
+            outbound.result.completeExceptionally(new RejectedExecutionException("Outbound Telegram queue is full"));
+            return outbound.result;
+        }
+
+        while (true) {
+            ChatQueue chat = chatQueues.computeIfAbsent(chatId,
+                    id -> new ChatQueue(id, perChatRatePerSecond, perChatBurst));
+            synchronized (chat) {
+                if (chat.removed) {
+                    continue;
+                }
+                chat.messages.add(outbound);
+                if (!chat.scheduled) {
+                    chat.scheduled = true;
+                    schedule(chat, 0);
+                }
+            }
+            return outbound.result;
+        }
+    }
+
+    private void runScheduler() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ChatQueue chat = readyChats.take();
+
+                long waitNanos = globalBucket.reserve();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+
+                senderPool.execute(() -> deliverHead(chat));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RejectedExecutionException e) {
+                log.warn("Telegram sender pool is shut down, stopping outbound scheduler");
+                return;
+            }
+        }
+    }
+
+    private void deliverHead(ChatQueue chat) {
+        OutboundMessage outbound = chat.messages.peek();
+        if (outbound == null) {
+            scheduleNext(chat, 0);
+            return;
+        }
+
+        Timer.Sample sample = feedbackMetrics.startTimer();
+        try {
+            execute(outbound.message);
+            feedbackMetrics.recordIntegrationCall(sample, "telegram", outbound.operation, FeedbackMetrics.OUTCOME_SUCCESS);
+            complete(chat, outbound, null);
+            scheduleNext(chat, 0);
+        } catch (TelegramApiException e) {
+            feedbackMetrics.recordIntegrationCall(sample, "telegram", outbound.operation, FeedbackMetrics.OUTCOME_ERROR);
+            handleFailure(chat, outbound, e);
+        } catch (RuntimeException e) {
+            feedbackMetrics.recordIntegrationCall(sample, "telegram", outbound.operation, FeedbackMetrics.OUTCOME_ERROR);
+            handleFailure(chat, outbound, new TelegramApiException(e));
+        }
+    }
+
+    private void handleFailure(ChatQueue chat, OutboundMessage outbound, TelegramApiException e) {
+        outbound.attempts++;
+
+        long delayMs = retryBackoffMs << Math.min(outbound.attempts - 1, 10);
+        TelegramApiRequestException requestException =
+                e instanceof TelegramApiRequestException ? (TelegramApiRequestException) e : null;
+        if (requestException != null && requestException.getErrorCode() != null
+                && requestException.getErrorCode() == TOO_MANY_REQUESTS) {
+            rateLimitedCounter.increment();
+            if (requestException.getParameters() != null && requestException.getParameters().getRetryAfter() != null) {
+                delayMs = TimeUnit.SECONDS.toMillis(requestException.getParameters().getRetryAfter());
+            }
+        }
+
+        if (isPermanentFailure(e)) {
+            droppedCounter.increment();
+            log.error("Telegram rejected message to chat {}, not retrying: {}", chat.chatId, e.getMessage());
+            complete(chat, outbound, e);
+            scheduleNext(chat, 0);
+            return;
+        }
+
+        if (outbound.attempts >= maxAttempts) {
+            droppedCounter.increment();
+            log.error("Giving up on Telegram message to chat {} after {} attempts: {}",
+                    chat.chatId, outbound.attempts, e.getMessage());
+            complete(chat, outbound, e);
+            scheduleNext(chat, 0);
+            return;
+        }
+
+        log.warn("Telegram send to chat {} failed (attempt {}/{}), retrying in {}ms: {}",
+                chat.chatId, outbound.attempts, maxAttempts, delayMs, e.getMessage());
+        scheduleNext(chat, TimeUnit.MILLISECONDS.toNanos(delayMs));
+    }
+
+    public static boolean isPermanentFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof TelegramApiRequestException)) {
+            return false;
+        }
+
+        Integer errorCode = ((TelegramApiRequestException) cause).getErrorCode();
+        return errorCode != null && errorCode >= 400 && errorCode < 500 && errorCode != TOO_MANY_REQUESTS;
+    }
+
+    private void complete(ChatQueue chat, OutboundMessage outbound, Exception error) {
+        chat.messages.poll();
+        pendingMessages.decrementAndGet();
+
+        if (error == null) {
+            outbound.result.complete(null);
+        } else {
+            outbound.result.completeExceptionally(error);
+        }
+    }
+
+    private void scheduleNext(ChatQueue chat, long minDelayNanos) {
+        synchronized (chat) {
+            if (chat.messages.isEmpty()) {
+                chat.scheduled = false;
+                if (chat.bucket.isIdle()) {
+                    chat.removed = true;
+                    chatQueues.remove(chat.chatId, chat);
+                }
+                return;
+            }
+            schedule(chat, minDelayNanos);
+        }
+    }
+
+    private void schedule(ChatQueue chat, long minDelayNanos) {
+        long delayNanos = Math.max(minDelayNanos, chat.bucket.reserve());
+        chat.readyAtNanos = System.nanoTime() + delayNanos;
+        readyChats.put(chat);
+    }
+
+    private static class OutboundMessage {
+        private final SendMessage message;
+        private final String operation;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private int attempts;
+
+        private OutboundMessage(SendMessage message, String operation) {
+            this.message = message;
+            this.operation = operation;
+        }
+    }
+
+    private static class ChatQueue implements Delayed {
+        private final Long chatId;
+        private final TokenBucket bucket;
+        private final Queue<OutboundMessage> messages = new ConcurrentLinkedQueue<>();
+        private boolean scheduled;
+        private boolean removed;
+        private volatile long readyAtNanos;
+
+        private ChatQueue(Long chatId, double ratePerSecond, int burst) {
+            this.chatId = chatId;
+            this.bucket = new TokenBucket(ratePerSecond, burst);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAtNanos, ((ChatQueue) other).readyAtNanos);
+        }
+    }
+}
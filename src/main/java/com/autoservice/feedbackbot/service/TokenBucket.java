@@ -0,0 +1,34 @@
+package com.autoservice.feedbackbot.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private long nextFreeNanos;
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+        this.nanoClock = nanoClock;
+        this.nextFreeNanos = nanoClock.getAsLong() - burstNanos;
+    }
+
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        long slot = Math.max(nextFreeNanos, now - burstNanos);
+        nextFreeNanos = slot + intervalNanos;
+        return Math.max(0, slot - now);
+    }
+
+    synchronized boolean isIdle() {
+        return nextFreeNanos - nanoClock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.entity.FeedbackJob;
+import com.autoservice.feedbackbot.entity.TrelloIncident;
+import com.autoservice.feedbackbot.repository.FeedbackJobRepository;
+import com.autoservice.feedbackbot.repository.TrelloIncidentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrelloIncidentService {
+
+    private final TrelloIncidentRepository trelloIncidentRepository;
+    private final FeedbackJobRepository feedbackJobRepository;
+    private final TrelloService trelloService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${trello.incident.window-minutes:30}")
+    private long windowMinutes;
+
+    public String report(FeedbackJob job, Feedback feedback) throws Exception {
+        String branch = feedback.getUser().getBranch() != null ? feedback.getUser().getBranch() : "";
+
+        if (job.getTrelloIncidentId() == null) {
+            Long incidentId = transactionTemplate.execute(status -> {
+                trelloIncidentRepository.lockForUpdate(lockKey(branch));
+                return assignIncident(job, branch);
+            });
+            job.setTrelloIncidentId(incidentId);
+        }
+
+        String cardId = transactionTemplate.execute(status -> {
+            trelloIncidentRepository.lockForUpdate(lockKey(branch));
+            TrelloIncident incident = trelloIncidentRepository.findById(job.getTrelloIncidentId())
+                    .orElseThrow(() -> new IllegalStateException("Incident not found: " + job.getTrelloIncidentId()));
+            return ensureCard(incident);
+        });
+
+        String marker = TrelloService.feedbackMarker(feedback.getId());
+        if (trelloService.hasCommentContaining(cardId, marker, "Feedback ID: " + feedback.getId())) {
+            log.info("Feedback {} is already on Trello card {}, skipping comment", feedback.getId(), cardId);
+            return cardId;
+        }
+
+        trelloService.addComment(cardId, trelloService.formatCardDescription(feedback) + "\n\n" + marker);
+        return cardId;
+    }
+
+    private Long assignIncident(FeedbackJob job, String branch) {
+        LocalDateTime now = LocalDateTime.now();
+
+        TrelloIncident incident = trelloIncidentRepository
+                .findFirstByBranchAndLastFeedbackAtGreaterThanEqualOrderByIdDesc(branch, now.minusMinutes(windowMinutes))
+                .orElseGet(() -> {
+                    TrelloIncident opened = new TrelloIncident();
+                    opened.setBranch(branch);
+                    opened.setOpenedAt(now);
+                    return opened;
+                });
+        incident.setFeedbackCount(incident.getFeedbackCount() + 1);
+        incident.setLastFeedbackAt(now);
+        incident = trelloIncidentRepository.save(incident);
+
+        feedbackJobRepository.setTrelloIncidentId(job.getId(), incident.getId());
+
+        log.debug("Feedback job {} joined Trello incident {} ({} feedbacks)",
+                job.getId(), incident.getId(), incident.getFeedbackCount());
+        return incident.getId();
+    }
+
+    private String ensureCard(TrelloIncident incident) {
+        if (incident.getCardId() != null) {
+            return incident.getCardId();
+        }
+
+        String marker = TrelloService.incidentMarker(incident.getId());
+        try {
+            String cardId = trelloService.findCardIdByMarker(marker, "Incident ID: incident-" + incident.getId())
+                    .orElse(null);
+            if (cardId == null) {
+                cardId = trelloService.createIncidentCard(incident, marker);
+            }
+
+            incident.setCardId(cardId);
+            trelloIncidentRepository.save(incident);
+            return cardId;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create Trello card: " + e.getMessage(), e);
+        }
+    }
+
+    private String lockKey(String branch) {
+        return "trello-incident:" + branch;
+    }
+}
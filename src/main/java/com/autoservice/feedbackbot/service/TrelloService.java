@@ -1,10 +1,13 @@
 package com.autoservice.feedbackbot.service;
 
 import com.autoservice.feedbackbot.entity.Feedback;
+import com.autoservice.feedbackbot.entity.TrelloIncident;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,14 +19,19 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TrelloService {
 
+    @Qualifier("trelloRestTemplate")
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final FeedbackMetrics feedbackMetrics;
 
     @Value("${trello.api.key}")
     private String apiKey;
@@ -34,51 +42,147 @@ public class TrelloService {
     @Value("${trello.list.id}")
     private String listId;
 
-    private static final String TRELLO_API_URL = "https://api.trello.com/1";
+    @Value("${trello.api.url:https://api.trello.com/1}")
+    private String apiUrl;
 
-    public String createCriticalFeedbackCard(Feedback feedback) throws Exception {
-        String cardName = String.format("Critical Feedback - %s (%s)",
-                feedback.getUser().getPosition().getDisplayName(),
-                feedback.getUser().getBranch());
-
-        String cardDescription = formatCardDescription(feedback);
+    public String createIncidentCard(TrelloIncident incident, String marker) throws Exception {
+        String cardName = String.format("Critical Feedback - %s (incident from %s)",
+                incident.getBranch(),
+                incident.getOpenedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
 
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("key", apiKey);
-        params.add("token", token);
+        MultiValueMap<String, String> params = authParams();
         params.add("idList", listId);
         params.add("name", cardName);
-        params.add("desc", cardDescription);
+        params.add("desc", formatIncidentDescription(incident, marker));
         params.add("pos", "top");
 
-        String labelIds = determineLabelIds(feedback);
+        String labelIds = determineLabelIds(incident);
         if (labelIds != null) {
             params.add("idLabels", labelIds);
         }
 
         params.add("due", java.time.LocalDateTime.now().plusDays(3).toString());
 
+        JsonNode card = post("/cards", params, "create_card");
+        String cardId = card.get("id").asText();
+
+        log.info("Created Trello card for critical feedback incident {}: {} - {}",
+                incident.getId(), cardId, card.get("url").asText());
+        return cardId;
+    }
+
+    public static String feedbackMarker(Long feedbackId) {
+        return "[feedback:" + feedbackId + "]";
+    }
+
+    public static String incidentMarker(Long incidentId) {
+        return "[incident:" + incidentId + "]";
+    }
+
+    static boolean containsMarker(String text, String... markers) {
+        return text.lines()
+                .map(String::trim)
+                .anyMatch(line -> Arrays.asList(markers).contains(line));
+    }
+
+    public Optional<String> findCardIdByMarker(String... markers) throws Exception {
+        JsonNode cards = get("/lists/" + listId + "/cards?fields=id,desc&key={key}&token={token}", "find_card");
+
+        for (JsonNode card : cards) {
+            if (containsMarker(card.path("desc").asText(), markers)) {
+                return Optional.of(card.get("id").asText());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void addComment(String cardId, String text) throws Exception {
+        MultiValueMap<String, String> params = authParams();
+        params.add("text", text);
+
+        post("/cards/" + cardId + "/actions/comments", params, "add_comment");
+    }
+
+    public boolean hasCommentContaining(String cardId, String... markers) throws Exception {
+        JsonNode actions = get("/cards/" + cardId + "/actions?filter=commentCard&limit=1000&key={key}&token={token}",
+                "list_comments");
+
+        for (JsonNode action : actions) {
+            if (containsMarker(action.path("data").path("text").asText(), markers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MultiValueMap<String, String> authParams() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("key", apiKey);
+        params.add("token", token);
+        return params;
+    }
+
+    private JsonNode post(String path, MultiValueMap<String, String> params, String operation) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
 
-        ResponseEntity<String> response = restTemplate.postForEntity(
-                TRELLO_API_URL + "/cards", request, String.class);
+        Timer.Sample sample = feedbackMetrics.startTimer();
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.postForEntity(apiUrl + path, request, String.class);
+        } catch (RuntimeException e) {
+            feedbackMetrics.recordIntegrationCall(sample, "trello", operation, FeedbackMetrics.OUTCOME_ERROR);
+            throw e;
+        }
 
-        if (response.getStatusCode().is2xxSuccessful()) {
-            JsonNode jsonResponse = objectMapper.readTree(response.getBody());
-            String cardId = jsonResponse.get("id").asText();
-            String cardUrl = jsonResponse.get("url").asText();
+        return readResponse(sample, response, operation);
+    }
 
-            log.info("Created Trello card for critical feedback: {} - {}", cardId, cardUrl);
-            return cardId;
-        } else {
-            throw new RuntimeException("Failed to create Trello card: " + response.getStatusCode());
+    private JsonNode get(String pathTemplate, String operation) throws Exception {
+        Timer.Sample sample = feedbackMetrics.startTimer();
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.getForEntity(apiUrl + pathTemplate, String.class, Map.of("key", apiKey, "token", token));
+        } catch (RuntimeException e) {
+            feedbackMetrics.recordIntegrationCall(sample, "trello", operation, FeedbackMetrics.OUTCOME_ERROR);
+            throw e;
         }
+
+        return readResponse(sample, response, operation);
+    }
+
+    private JsonNode readResponse(Timer.Sample sample, ResponseEntity<String> response, String operation)
+            throws Exception {
+        feedbackMetrics.recordIntegrationCall(sample, "trello", operation,
+                response.getStatusCode().is2xxSuccessful()
+                        ? FeedbackMetrics.OUTCOME_SUCCESS
+                        : FeedbackMetrics.OUTCOME_ERROR);
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("Trello API call " + operation + " failed: " + response.getStatusCode());
+        }
+        return objectMapper.readTree(response.getBody());
+    }
+
+    private String formatIncidentDescription(TrelloIncident incident, String marker) {
+        return String.format(
+                "**CRITICAL FEEDBACK INCIDENT**\n\n" +
+                        "**Branch:** %s\n" +
+                        "**Opened:** %s\n\n" +
+                        "Critical feedback from this branch is added to this card as comments " +
+                        "while the incident stays active.\n\n" +
+                        "**Action Required:** These feedbacks require immediate attention due to high criticality level.\n" +
+                        "**Deadline:** Please address within 3 business days.\n\n" +
+                        "%s",
+                incident.getBranch(),
+                incident.getOpenedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                marker
+        );
     }
 
-    private String formatCardDescription(Feedback feedback) {
+    String formatCardDescription(Feedback feedback) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
         return String.format(
@@ -104,7 +208,7 @@ public class TrelloService {
         );
     }
 
-    private String determineLabelIds(Feedback feedback) {
+    private String determineLabelIds(TrelloIncident incident) {
         return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.autoservice.feedbackbot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UpdateDispatcher {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${telegram.dispatcher.workers:16}")
+    private int workers;
+
+    @Value("${telegram.dispatcher.queue-capacity:500}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor[] stripes;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        stripes = new ThreadPoolExecutor[workers];
+        for (int i = 0; i < workers; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("update-dispatcher-" + i + "-"));
+        }
+
+        Gauge.builder("telegram.dispatcher.queue.depth", this, UpdateDispatcher::getQueueDepth)
+                .description("Updates waiting across all dispatcher workers")
+                .register(meterRegistry);
+        Gauge.builder("telegram.dispatcher.queue.max-worker-depth", this, UpdateDispatcher::getMaxWorkerQueueDepth)
+                .description("Updates waiting on the busiest dispatcher worker")
+                .register(meterRegistry);
+        Gauge.builder("telegram.dispatcher.active", this, UpdateDispatcher::getActiveCount)
+                .description("Dispatcher workers currently handling an update")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("telegram.dispatcher.rejected")
+                .description("Updates rejected because the worker queue was full")
+                .register(meterRegistry);
+
+        log.info("Update dispatcher started with {} workers, queue capacity {} per worker", workers, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean dispatch(Long chatId, Runnable task) {
+        ThreadPoolExecutor stripe = stripes[Math.floorMod(Long.hashCode(chatId), stripes.length)];
+
+        try {
+            stripe.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Dispatcher queue is full, rejected update from chat {}", chatId);
+            return false;
+        }
+    }
+
+    public int getQueueDepth() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.getQueue().size()).sum();
+    }
+
+    public int getMaxWorkerQueueDepth() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.getQueue().size()).max().orElse(0);
+    }
+
+    public int getActiveCount() {
+        return Arrays.stream(stripes).mapToInt(ThreadPoolExecutor::getActiveCount).sum();
+    }
+}
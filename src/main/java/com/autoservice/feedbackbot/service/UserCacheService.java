@@ -0,0 +1,94 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.entity.User;
+import com.autoservice.feedbackbot.enums.UserState;
+import com.autoservice.feedbackbot.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheService {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${user.cache.expire-after-access-minutes:60}")
+    private long expireAfterAccessMinutes;
+
+    private Cache<Long, User> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<User> findById(Long chatId) {
+        User cached = cache.getIfPresent(chatId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<User> user = userRepository.findById(chatId);
+        user.filter(UserCacheService::isCacheable).ifPresent(found -> cache.put(chatId, found));
+        return user;
+    }
+
+    public User save(User user) {
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (RuntimeException e) {
+            cache.invalidate(user.getChatId());
+            throw e;
+        }
+
+        if (!isCacheable(saved)) {
+            cache.invalidate(saved.getChatId());
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(saved.getChatId(), saved);
+                }
+            });
+        } else {
+            cache.put(saved.getChatId(), saved);
+        }
+        return saved;
+    }
+
+    public void lockChat(Long chatId) {
+        userRepository.lockForUpdate("chat:" + chatId);
+    }
+
+    public void evict(Long chatId) {
+        cache.invalidate(chatId);
+    }
+
+    private static boolean isCacheable(User user) {
+        return user.getState() == UserState.REGISTERED;
+    }
+}
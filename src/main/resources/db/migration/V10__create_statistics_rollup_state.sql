@@ -0,0 +1,13 @@
+CREATE TABLE statistics_rollup_state (
+    id SMALLINT NOT NULL,
+    built BOOLEAN NOT NULL,
+    built_at TIMESTAMP(6),
+    CONSTRAINT statistics_rollup_state_pkey PRIMARY KEY (id),
+    CONSTRAINT ck_statistics_rollup_state_single_row CHECK (id = 1)
+);
+
+-- An empty rollup next to existing feedback has never been built (or was cleared by V4) and needs a rebuild.
+INSERT INTO statistics_rollup_state (id, built, built_at)
+SELECT 1,
+       EXISTS (SELECT 1 FROM feedback_stats_hourly) OR NOT EXISTS (SELECT 1 FROM feedbacks),
+       NULL;
@@ -0,0 +1,55 @@
+-- Creating a monthly partition fails while feedbacks_default holds rows for that month,
+-- so those rows are moved into the new partition while the default partition is detached.
+CREATE OR REPLACE FUNCTION ensure_feedback_partitions(from_month DATE, to_month DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::DATE;
+    month_end DATE;
+    partition_name TEXT;
+    column_list TEXT;
+    moved INTEGER;
+    created INTEGER := 0;
+BEGIN
+    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum)
+    INTO column_list
+    FROM pg_attribute
+    WHERE attrelid = 'feedbacks'::regclass
+      AND attnum > 0
+      AND NOT attisdropped
+      AND attgenerated = '';
+
+    WHILE month_start <= to_month LOOP
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        partition_name := 'feedbacks_' || to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass(partition_name) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM feedbacks_default WHERE created_at >= month_start AND created_at < month_end) THEN
+                ALTER TABLE feedbacks DETACH PARTITION feedbacks_default;
+
+                EXECUTE format('CREATE TABLE %I PARTITION OF feedbacks FOR VALUES FROM (%L) TO (%L)',
+                        partition_name, month_start, month_end);
+
+                EXECUTE format('WITH moved AS (DELETE FROM feedbacks_default '
+                                   'WHERE created_at >= %L AND created_at < %L RETURNING %s) '
+                                   'INSERT INTO %I (%s) SELECT %s FROM moved',
+                        month_start, month_end, column_list, partition_name, column_list, column_list);
+                GET DIAGNOSTICS moved = ROW_COUNT;
+
+                ALTER TABLE feedbacks ATTACH PARTITION feedbacks_default DEFAULT;
+
+                RAISE WARNING 'Moved % feedbacks from feedbacks_default into %', moved, partition_name;
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF feedbacks FOR VALUES FROM (%L) TO (%L)',
+                        partition_name, month_start, month_end);
+            END IF;
+            created := created + 1;
+        END IF;
+
+        month_start := month_end;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
@@ -0,0 +1,40 @@
+-- Branch keys are now trimmed after separators are collapsed, so "Kyiv-" and "Kyiv" share the key "kyiv".
+CREATE TEMPORARY TABLE branch_keys ON COMMIT DROP AS
+SELECT id,
+       name,
+       normalized_name,
+       first_value(name) OVER (PARTITION BY normalized_name ORDER BY active DESC, id) AS kept_name
+FROM (
+    SELECT id, name, active,
+           lower(btrim(regexp_replace(name, '[[:space:]_-]+', ' ', 'g'))) AS normalized_name
+    FROM branches
+) renormalized;
+
+UPDATE users u
+SET branch = k.kept_name
+FROM branch_keys k
+WHERE u.branch = k.name
+  AND k.name <> k.kept_name;
+
+UPDATE trello_incidents t
+SET branch = k.kept_name
+FROM branch_keys k
+WHERE t.branch = k.name
+  AND k.name <> k.kept_name;
+
+DELETE FROM branches b
+USING branch_keys k
+WHERE b.id = k.id
+  AND k.name <> k.kept_name;
+
+UPDATE branches b
+SET normalized_name = k.normalized_name
+FROM branch_keys k
+WHERE b.id = k.id
+  AND b.normalized_name <> k.normalized_name;
+
+-- Buckets of merged branches still carry the old names; rebuild the rollup on startup.
+UPDATE statistics_rollup_state
+SET built = FALSE, built_at = NULL
+WHERE id = 1
+  AND EXISTS (SELECT 1 FROM branch_keys WHERE name <> kept_name);
@@ -0,0 +1,62 @@
+CREATE TABLE users (
+    chat_id BIGINT NOT NULL,
+    position VARCHAR(255),
+    branch VARCHAR(255),
+    state VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT users_pkey PRIMARY KEY (chat_id)
+);
+
+CREATE TABLE feedbacks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    message TEXT,
+    sentiment VARCHAR(255),
+    criticality_level INTEGER,
+    solution TEXT,
+    created_at TIMESTAMP(6),
+    trello_card_id VARCHAR(255),
+    google_doc_entry_id VARCHAR(255),
+    user_chat_id BIGINT,
+    CONSTRAINT feedbacks_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_feedbacks_user FOREIGN KEY (user_chat_id) REFERENCES users (chat_id)
+);
+
+CREATE TABLE feedback_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    chat_id BIGINT,
+    message TEXT,
+    stage VARCHAR(255),
+    sentiment VARCHAR(255),
+    criticality_level INTEGER,
+    solution TEXT,
+    feedback_id BIGINT,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    next_attempt_at TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT feedback_jobs_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE feedback_stats_hourly (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    branch VARCHAR(255) NOT NULL,
+    position VARCHAR(255) NOT NULL,
+    sentiment VARCHAR(255) NOT NULL,
+    criticality_level INTEGER NOT NULL,
+    feedback_count INTEGER NOT NULL,
+    CONSTRAINT feedback_stats_hourly_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_feedback_stats_hourly_bucket
+        UNIQUE (bucket_start, branch, position, sentiment, criticality_level)
+);
+
+CREATE TABLE analysis_cache (
+    message_hash VARCHAR(64) NOT NULL,
+    sentiment VARCHAR(255),
+    criticality_level INTEGER,
+    solution TEXT,
+    created_at TIMESTAMP(6),
+    CONSTRAINT analysis_cache_pkey PRIMARY KEY (message_hash)
+);
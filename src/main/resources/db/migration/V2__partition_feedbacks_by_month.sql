@@ -0,0 +1,62 @@
+CREATE OR REPLACE FUNCTION ensure_feedback_partitions(from_month DATE, to_month DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_month LOOP
+        partition_name := 'feedbacks_' || to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF feedbacks FOR VALUES FROM (%L) TO (%L)',
+                    partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+ALTER TABLE feedbacks RENAME TO feedbacks_unpartitioned;
+ALTER INDEX feedbacks_pkey RENAME TO feedbacks_unpartitioned_pkey;
+
+CREATE SEQUENCE feedbacks_partitioned_id_seq;
+
+CREATE TABLE feedbacks (
+    id BIGINT NOT NULL DEFAULT nextval('feedbacks_partitioned_id_seq'),
+    message TEXT,
+    sentiment VARCHAR(255),
+    criticality_level INTEGER,
+    solution TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    trello_card_id VARCHAR(255),
+    google_doc_entry_id VARCHAR(255),
+    user_chat_id BIGINT,
+    CONSTRAINT feedbacks_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_feedbacks_partitioned_user FOREIGN KEY (user_chat_id) REFERENCES users (chat_id)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE feedbacks_partitioned_id_seq OWNED BY feedbacks.id;
+
+CREATE TABLE feedbacks_default PARTITION OF feedbacks DEFAULT;
+
+SELECT ensure_feedback_partitions(
+        COALESCE((SELECT min(created_at) FROM feedbacks_unpartitioned)::DATE, CURRENT_DATE),
+        (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+INSERT INTO feedbacks (id, message, sentiment, criticality_level, solution, created_at,
+                       trello_card_id, google_doc_entry_id, user_chat_id)
+SELECT id, message, sentiment, criticality_level, solution, COALESCE(created_at, TIMESTAMP '1970-01-01'),
+       trello_card_id, google_doc_entry_id, user_chat_id
+FROM feedbacks_unpartitioned;
+
+SELECT setval('feedbacks_partitioned_id_seq',
+        COALESCE((SELECT max(id) FROM feedbacks), 0) + 1, false);
+
+DROP TABLE feedbacks_unpartitioned;
@@ -0,0 +1,16 @@
+CREATE INDEX idx_feedbacks_created_at_id ON feedbacks (created_at DESC, id DESC);
+
+CREATE INDEX idx_feedbacks_sentiment_created_at ON feedbacks (sentiment, created_at DESC, id DESC);
+
+CREATE INDEX idx_feedbacks_criticality_created_at ON feedbacks (criticality_level, created_at DESC);
+
+CREATE INDEX idx_feedbacks_critical_created_at ON feedbacks (created_at DESC, id DESC)
+    WHERE criticality_level >= 4;
+
+CREATE INDEX idx_feedbacks_user_created_at ON feedbacks (user_chat_id, created_at DESC);
+
+CREATE INDEX idx_users_branch_position ON users (branch, position);
+
+CREATE INDEX idx_users_position ON users (position);
+
+CREATE INDEX idx_feedback_jobs_stage_next_attempt ON feedback_jobs (stage, next_attempt_at, id);
@@ -0,0 +1,35 @@
+CREATE TABLE branches (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT branches_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_branches_name UNIQUE (name),
+    CONSTRAINT uk_branches_normalized_name UNIQUE (normalized_name)
+);
+
+INSERT INTO branches (name, normalized_name, active, created_at)
+SELECT DISTINCT ON (normalized_name) name, normalized_name, TRUE, now()
+FROM (
+    SELECT regexp_replace(btrim(branch), '\s+', ' ', 'g') AS name,
+           lower(regexp_replace(btrim(branch), '[[:space:]_-]+', ' ', 'g')) AS normalized_name,
+           count(*) AS user_count
+    FROM users
+    WHERE branch IS NOT NULL AND btrim(branch) <> ''
+    GROUP BY 1, 2
+) spellings
+ORDER BY normalized_name, user_count DESC, name;
+
+UPDATE users SET branch = NULL WHERE btrim(branch) = '';
+
+UPDATE users u
+SET branch = b.name
+FROM branches b
+WHERE u.branch IS NOT NULL
+  AND lower(regexp_replace(btrim(u.branch), '[[:space:]_-]+', ' ', 'g')) = b.normalized_name;
+
+ALTER TABLE users ADD CONSTRAINT fk_users_branch FOREIGN KEY (branch) REFERENCES branches (name);
+
+-- Buckets still carry the old spellings; the rollup is rebuilt on startup when empty.
+DELETE FROM feedback_stats_hourly;
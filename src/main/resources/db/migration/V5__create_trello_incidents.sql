@@ -0,0 +1,13 @@
+CREATE TABLE trello_incidents (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    branch VARCHAR(255) NOT NULL,
+    card_id VARCHAR(255),
+    feedback_count INTEGER NOT NULL,
+    opened_at TIMESTAMP(6) NOT NULL,
+    last_feedback_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT trello_incidents_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_trello_incidents_branch_last_feedback ON trello_incidents (branch, last_feedback_at DESC);
+
+ALTER TABLE feedback_jobs ADD COLUMN trello_incident_id BIGINT;
@@ -0,0 +1,3 @@
+ALTER TABLE feedbacks ADD COLUMN duplicate_of_id BIGINT;
+
+ALTER TABLE feedback_jobs ADD COLUMN duplicate_of_feedback_id BIGINT;
@@ -0,0 +1,14 @@
+ALTER TABLE feedbacks ADD COLUMN analysis_source VARCHAR(255);
+
+ALTER TABLE feedback_jobs ADD COLUMN analysis_source VARCHAR(255);
+
+-- Older rows did not record where the analysis came from; the fixed fallback answer is the only one we can tell apart.
+UPDATE feedbacks
+SET analysis_source = CASE
+    WHEN sentiment = 'NEUTRAL' AND criticality_level = 3
+         AND solution = 'Review and address the concern raised by employee.' THEN 'DEFAULT'
+    WHEN duplicate_of_id IS NOT NULL THEN 'DUPLICATE'
+    ELSE 'REMOTE'
+END;
+
+CREATE INDEX idx_feedbacks_analysis_source_created_at ON feedbacks (analysis_source, created_at DESC);
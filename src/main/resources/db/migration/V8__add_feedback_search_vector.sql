@@ -0,0 +1,7 @@
+ALTER TABLE feedbacks ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(message, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(solution, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_feedbacks_search_vector ON feedbacks USING GIN (search_vector);
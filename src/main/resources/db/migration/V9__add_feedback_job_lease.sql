@@ -0,0 +1,3 @@
+ALTER TABLE feedback_jobs ADD COLUMN locked_by VARCHAR(255);
+
+ALTER TABLE feedback_jobs ADD COLUMN locked_until TIMESTAMP(6);
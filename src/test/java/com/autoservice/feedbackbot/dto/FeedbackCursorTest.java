@@ -0,0 +1,57 @@
+package com.autoservice.feedbackbot.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedbackCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        FeedbackCursor cursor = new FeedbackCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+        assertEquals(cursor, FeedbackCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsWholeSecondTimestamps() {
+        FeedbackCursor cursor = new FeedbackCursor(LocalDateTime.of(2025, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertEquals(cursor, FeedbackCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+        String encoded = new FeedbackCursor(LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_000), 7L).encode();
+
+        assertFalse(encoded.contains("="));
+        assertFalse(encoded.contains("+"));
+        assertFalse(encoded.contains("/"));
+    }
+
+    @Test
+    void treatsMissingCursorAsFirstPage() {
+        assertNull(FeedbackCursor.decode(null));
+        assertNull(FeedbackCursor.decode(""));
+        assertNull(FeedbackCursor.decode("  "));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> FeedbackCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackCursor.decode(encode("2025-01-01T00:00")));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackCursor.decode(encode("yesterday|1")));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackCursor.decode(encode("2025-01-01T00:00|abc")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
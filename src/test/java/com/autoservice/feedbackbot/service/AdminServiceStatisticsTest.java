@@ -0,0 +1,142 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.dto.FeedbackStatistics;
+import com.autoservice.feedbackbot.dto.StatisticsRow;
+import com.autoservice.feedbackbot.enums.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdminServiceStatisticsTest {
+
+    @Test
+    void mapsEachGroupingSetToItsDistribution() {
+        FeedbackStatistics statistics = AdminService.buildStatistics(List.of(
+                row(0b0111, "NEGATIVE", null, null, null, 3, 0, 0),
+                row(0b0111, "POSITIVE", null, null, null, 2, 0, 0),
+                row(0b1011, null, 5, null, null, 2, 0, 0),
+                row(0b1011, null, 1, null, null, 3, 0, 0),
+                row(0b1101, null, null, "Main", null, 4, 0, 0),
+                row(0b1101, null, null, "North", null, 1, 0, 0),
+                row(0b1110, null, null, null, "MECHANIC", 5, 0, 0),
+                row(0b1111, null, null, null, null, 5, 13, 2)), null, null);
+
+        assertEquals(Map.of("NEGATIVE", 3L, "POSITIVE", 2L), statistics.getSentimentDistribution());
+        assertEquals(Map.of(5, 2L, 1, 3L), statistics.getCriticalityDistribution());
+        assertEquals(Map.of("Main", 4L, "North", 1L), statistics.getBranchDistribution());
+        assertEquals(Map.of("MECHANIC", 5L), statistics.getPositionDistribution());
+        assertEquals(5, statistics.getTotalFeedbacks());
+        assertEquals(2, statistics.getCriticalFeedbacksCount());
+        assertEquals(2.6, statistics.getAverageCriticality());
+    }
+
+    @Test
+    void mergesRowsFromRollupAndEdgeQueries() {
+        FeedbackStatistics statistics = AdminService.buildStatistics(List.of(
+                row(0b0111, "NEUTRAL", null, null, null, 10, 0, 0),
+                row(0b1111, null, null, null, null, 10, 30, 4),
+                row(0b0111, "NEUTRAL", null, null, null, 2, 0, 0),
+                row(0b1111, null, null, null, null, 2, 4, 0)), null, null);
+
+        assertEquals(Map.of("NEUTRAL", 12L), statistics.getSentimentDistribution());
+        assertEquals(12, statistics.getTotalFeedbacks());
+        assertEquals(4, statistics.getCriticalFeedbacksCount());
+        assertEquals(2.83, statistics.getAverageCriticality());
+    }
+
+    @Test
+    void omitsTheDistributionOfAFilteredDimension() {
+        FeedbackStatistics statistics = AdminService.buildStatistics(List.of(
+                row(0b1101, null, null, "Main", null, 4, 0, 0),
+                row(0b1110, null, null, null, "MECHANIC", 4, 0, 0),
+                row(0b1111, null, null, null, null, 4, 8, 0)), "Main", Position.MECHANIC);
+
+        assertNull(statistics.getBranchDistribution());
+        assertNull(statistics.getPositionDistribution());
+    }
+
+    @Test
+    void skipsRowsWithANullGroupValueOrUnknownGroupingId() {
+        FeedbackStatistics statistics = AdminService.buildStatistics(List.of(
+                row(0b0111, null, null, null, null, 7, 0, 0),
+                row(0b0011, "NEGATIVE", 3, null, null, 7, 0, 0)), null, null);
+
+        assertTrue(statistics.getSentimentDistribution().isEmpty());
+        assertTrue(statistics.getCriticalityDistribution().isEmpty());
+        assertEquals(0, statistics.getTotalFeedbacks());
+    }
+
+    @Test
+    void treatsTheRollupPlaceholderForAMissingBranchOrPositionLikeNull() {
+        FeedbackStatistics statistics = AdminService.buildStatistics(List.of(
+                row(0b1101, null, null, "", null, 3, 0, 0),
+                row(0b1101, null, null, null, null, 1, 0, 0),
+                row(0b1101, null, null, "Main", null, 2, 0, 0),
+                row(0b1110, null, null, null, "", 3, 0, 0),
+                row(0b1110, null, null, null, null, 1, 0, 0),
+                row(0b1110, null, null, null, "MECHANIC", 2, 0, 0),
+                row(0b1111, null, null, null, null, 6, 12, 0)), null, null);
+
+        assertEquals(Map.of("Main", 2L), statistics.getBranchDistribution());
+        assertEquals(Map.of("MECHANIC", 2L), statistics.getPositionDistribution());
+        assertEquals(6, statistics.getTotalFeedbacks());
+    }
+
+    @Test
+    void reportsZeroAverageWithoutFeedback() {
+        FeedbackStatistics statistics = AdminService.buildStatistics(List.of(), null, null);
+
+        assertEquals(0, statistics.getTotalFeedbacks());
+        assertEquals(0.0, statistics.getAverageCriticality());
+    }
+
+    private static StatisticsRow row(int groupingId, String sentiment, Integer criticalityLevel, String branch,
+                                     String position, long feedbackCount, long criticalitySum, long criticalCount) {
+        return new StatisticsRow() {
+            @Override
+            public Integer getGroupingId() {
+                return groupingId;
+            }
+
+            @Override
+            public String getSentiment() {
+                return sentiment;
+            }
+
+            @Override
+            public Integer getCriticalityLevel() {
+                return criticalityLevel;
+            }
+
+            @Override
+            public String getBranch() {
+                return branch;
+            }
+
+            @Override
+            public String getPosition() {
+                return position;
+            }
+
+            @Override
+            public Long getFeedbackCount() {
+                return feedbackCount;
+            }
+
+            @Override
+            public Long getCriticalitySum() {
+                return criticalitySum;
+            }
+
+            @Override
+            public Long getCriticalCount() {
+                return criticalCount;
+            }
+        };
+    }
+}
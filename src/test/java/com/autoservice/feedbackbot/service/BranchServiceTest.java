@@ -0,0 +1,28 @@
+package com.autoservice.feedbackbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BranchServiceTest {
+
+    @Test
+    void collapsesSpacesDashesAndUnderscores() {
+        assertEquals("kyiv central", BranchService.normalize("Kyiv  Central"));
+        assertEquals("kyiv central", BranchService.normalize("kyiv-central"));
+        assertEquals("kyiv central", BranchService.normalize("KYIV__CENTRAL"));
+        assertEquals("kyiv central", BranchService.normalize("Kyiv -_ Central"));
+    }
+
+    @Test
+    void trimsAfterCollapsingSeparators() {
+        assertEquals("kyiv", BranchService.normalize("Kyiv-"));
+        assertEquals("kyiv", BranchService.normalize("_Kyiv_"));
+        assertEquals("kyiv", BranchService.normalize(" \tKyiv\n"));
+    }
+
+    @Test
+    void leavesAnEmptyKeyForSeparatorsOnly() {
+        assertEquals("", BranchService.normalize(" - _ "));
+    }
+}
@@ -0,0 +1,173 @@
+package com.autoservice.feedbackbot.service;
+
+import com.autoservice.feedbackbot.enums.CircuitState;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_DURATION_MS = 1000;
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private final CircuitBreaker breaker =
+            new CircuitBreaker("test", 10, 4, 50, OPEN_DURATION_MS, 2, now::get);
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        fail(3);
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        succeed(2);
+        fail(1);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        fail(1);
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void onlyTheLastWindowOfCallsCounts() {
+        succeed(10);
+        fail(4);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        fail(1);
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    @Test
+    void rejectsCallsUntilOpenDurationHasPassed() {
+        open();
+
+        now.addAndGet(OPEN_DURATION_MS - 1);
+        assertFalse(breaker.tryAcquire());
+        assertEquals(CircuitState.OPEN, breaker.getState());
+
+        now.addAndGet(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsOnlyTheConfiguredNumberOfTrialCalls() {
+        halfOpen();
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void closesAfterAllTrialCallsSucceed() {
+        halfOpen();
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+
+        breaker.onSuccess();
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess();
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void reopensWhenATrialCallFails() {
+        halfOpen();
+        breaker.tryAcquire();
+
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(OPEN_DURATION_MS);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void windowStartsEmptyAfterClosing() {
+        halfOpen();
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        fail(3);
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void releaseReturnsAnUnusedTrialPermit() {
+        halfOpen();
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+        assertFalse(breaker.tryAcquire());
+
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void releaseNeverHandsOutMoreThanTheConfiguredTrialPermits() {
+        halfOpen();
+        breaker.tryAcquire();
+        breaker.onSuccess();
+
+        breaker.release();
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void releaseDoesNotAffectAClosedBreaker() {
+        breaker.release();
+        fail(4);
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    private void halfOpen() {
+        open();
+        now.addAndGet(OPEN_DURATION_MS);
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+    }
+
+    private void open() {
+        fail(4);
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onSuccess();
+        }
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.autoservice.feedbackbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FeedbackExportServiceTest {
+
+    @Test
+    void writesPlainValuesAsIs() {
+        assertEquals("", FeedbackExportService.csvField(null));
+        assertEquals("", FeedbackExportService.csvField(""));
+        assertEquals("Main branch", FeedbackExportService.csvField("Main branch"));
+        assertEquals("costs 5-10 hours", FeedbackExportService.csvField("costs 5-10 hours"));
+    }
+
+    @Test
+    void quotesValuesWithSeparatorsQuotesOrLineBreaks() {
+        assertEquals("\"a,b\"", FeedbackExportService.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", FeedbackExportService.csvField("say \"hi\""));
+        assertEquals("\"line one\nline two\"", FeedbackExportService.csvField("line one\nline two"));
+        assertEquals("\"a\rb\"", FeedbackExportService.csvField("a\rb"));
+    }
+
+    @Test
+    void neutralisesValuesThatSpreadsheetsWouldEvaluate() {
+        assertEquals("\"'=HYPERLINK(\"\"http://evil\"\")\"",
+                FeedbackExportService.csvField("=HYPERLINK(\"http://evil\")"));
+        assertEquals("\"'+1+1\"", FeedbackExportService.csvField("+1+1"));
+        assertEquals("\"'-2+3\"", FeedbackExportService.csvField("-2+3"));
+        assertEquals("\"'@SUM(A1:A2)\"", FeedbackExportService.csvField("@SUM(A1:A2)"));
+        assertEquals("\"'\tcmd\"", FeedbackExportService.csvField("\tcmd"));
+        assertEquals("\"'\rcmd\"", FeedbackExportService.csvField("\rcmd"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.autoservice.feedbackbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedCallTest {
+
+    private final List<CompletableFuture<String>> calls = new ArrayList<>();
+    private final List<Runnable> pendingHedges = new ArrayList<>();
+    private final List<String> hedgedWinners = new ArrayList<>();
+
+    @Test
+    void primaryResultWinsWithoutHedging() {
+        CompletableFuture<String> result = start();
+
+        primary().complete("primary");
+        fireHedge();
+
+        assertEquals("primary", result.join());
+        assertEquals(1, calls.size());
+        assertTrue(hedgedWinners.isEmpty());
+    }
+
+    @Test
+    void hedgeWinsWhenItAnswersFirst() {
+        CompletableFuture<String> result = start();
+        fireHedge();
+
+        hedge().complete("hedge");
+        primary().complete("primary");
+
+        assertEquals("hedge", result.join());
+        assertEquals(List.of(HedgedCall.HEDGE), hedgedWinners);
+    }
+
+    @Test
+    void primaryCanStillWinAfterHedging() {
+        CompletableFuture<String> result = start();
+        fireHedge();
+
+        primary().complete("primary");
+
+        assertEquals("primary", result.join());
+        assertEquals(List.of(HedgedCall.PRIMARY), hedgedWinners);
+    }
+
+    @Test
+    void succeedsWhenPrimaryFailsButHedgeSucceeds() {
+        CompletableFuture<String> result = start();
+        fireHedge();
+
+        primary().completeExceptionally(new IllegalStateException("primary failed"));
+        assertFalse(result.isDone());
+
+        hedge().complete("hedge");
+
+        assertEquals("hedge", result.join());
+    }
+
+    @Test
+    void succeedsWhenHedgeFailsButPrimarySucceeds() {
+        CompletableFuture<String> result = start();
+        fireHedge();
+
+        hedge().completeExceptionally(new IllegalStateException("hedge failed"));
+        assertFalse(result.isDone());
+
+        primary().complete("primary");
+
+        assertEquals("primary", result.join());
+    }
+
+    @Test
+    void failsOnlyWhenEveryCallHasFailed() {
+        CompletableFuture<String> result = start();
+        fireHedge();
+
+        primary().completeExceptionally(new IllegalStateException("primary failed"));
+        assertFalse(result.isDone());
+
+        IllegalStateException last = new IllegalStateException("hedge failed");
+        hedge().completeExceptionally(last);
+
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertSame(last, error.getCause());
+        assertTrue(hedgedWinners.isEmpty());
+    }
+
+    @Test
+    void failsWithoutHedgingWhenPrimaryFailsBeforeTheHedgeDelay() {
+        CompletableFuture<String> result = start();
+
+        primary().completeExceptionally(new IllegalStateException("primary failed"));
+        fireHedge();
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, calls.size());
+    }
+
+    private CompletableFuture<String> start() {
+        return HedgedCall.start(() -> {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        }, pendingHedges::add, hedgedWinners::add);
+    }
+
+    private void fireHedge() {
+        pendingHedges.forEach(Runnable::run);
+        pendingHedges.clear();
+    }
+
+    private CompletableFuture<String> primary() {
+        return calls.get(0);
+    }
+
+    private CompletableFuture<String> hedge() {
+        return calls.get(1);
+    }
+}
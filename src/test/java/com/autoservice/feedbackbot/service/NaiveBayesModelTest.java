@@ -0,0 +1,66 @@
+package com.autoservice.feedbackbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NaiveBayesModelTest {
+
+    private static final int NEGATIVE = 0;
+    private static final int POSITIVE = 1;
+
+    private final NaiveBayesModel model = NaiveBayesModel.train(
+            List.of(
+                    words("the lift is broken again"),
+                    words("broken tools and no parts"),
+                    words("manager ignores broken equipment"),
+                    words("great team and helpful manager"),
+                    words("thanks for the new tools")),
+            new int[]{NEGATIVE, NEGATIVE, NEGATIVE, POSITIVE, POSITIVE},
+            2);
+
+    @Test
+    void predictsTheClassWhoseWordsDominate() {
+        assertEquals(NEGATIVE, model.predict(words("broken lift")));
+        assertEquals(POSITIVE, model.predict(words("great helpful team")));
+    }
+
+    @Test
+    void usesThePriorWhenThereIsNoEvidence() {
+        assertEquals(NEGATIVE, model.predict(new String[0]));
+    }
+
+    @Test
+    void knownWordsDecideNextToUnknownOnes() {
+        assertEquals(NEGATIVE, model.predict(words("broken xylophone")));
+        assertEquals(POSITIVE, model.predict(words("helpful xylophone")));
+    }
+
+    @Test
+    void repeatedEvidenceOutweighsASingleWord() {
+        assertEquals(POSITIVE, model.predict(words("broken but great great helpful team")));
+    }
+
+    @Test
+    void unseenClassesStillGetAPrior() {
+        NaiveBayesModel threeClasses = NaiveBayesModel.train(
+                List.of(words("broken lift"), words("great team")), new int[]{0, 1}, 3);
+
+        assertEquals(0, threeClasses.predict(words("broken")));
+        assertEquals(1, threeClasses.predict(words("great")));
+    }
+
+    @Test
+    void countsDistinctWordsInTheVocabulary() {
+        NaiveBayesModel small = NaiveBayesModel.train(
+                List.of(words("a b a"), words("b c")), new int[]{0, 1}, 2);
+
+        assertEquals(3, small.vocabularySize());
+    }
+
+    private static String[] words(String text) {
+        return text.split(" ");
+    }
+}
@@ -0,0 +1,117 @@
+package com.autoservice.feedbackbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimHashIndexTest {
+
+    private static final int BRANCH = 1;
+    private static final int OTHER_BRANCH = 2;
+    private static final long NOT_FOUND = -1;
+
+    @Test
+    void fingerprintIsStableForTheSameWords() {
+        String[] words = {"the", "lift", "in", "bay", "two", "is", "broken"};
+
+        assertEquals(SimHashIndex.fingerprint(words), SimHashIndex.fingerprint(words.clone()));
+    }
+
+    @Test
+    void similarMessagesAreCloserThanUnrelatedOnes() {
+        long original = SimHashIndex.fingerprint(
+                "the hydraulic lift in bay two is broken again and nobody has fixed it for a week".split(" "));
+        long nearCopy = SimHashIndex.fingerprint(
+                "the hydraulic lift in bay two is broken again and nobody has fixed it for two weeks".split(" "));
+        long unrelated = SimHashIndex.fingerprint(
+                "please order more coffee for the break room and fix the heating in the office".split(" "));
+
+        assertTrue(Long.bitCount(original ^ nearCopy) < Long.bitCount(original ^ unrelated));
+    }
+
+    @Test
+    void singleWordMessagesStillGetAFingerprint() {
+        assertNotEquals(SimHashIndex.fingerprint(new String[]{"brakes"}),
+                SimHashIndex.fingerprint(new String[]{"tyres"}));
+    }
+
+    @Test
+    void findsNothingInAnEmptyIndex() {
+        SimHashIndex index = new SimHashIndex(4);
+
+        assertEquals(NOT_FOUND, index.findNearest(0L, BRANCH, 0, 3));
+    }
+
+    @Test
+    void findsAnExactMatch() {
+        SimHashIndex index = new SimHashIndex(4);
+        index.add(0xABCDL, 10, BRANCH, 100);
+
+        assertEquals(10, index.findNearest(0xABCDL, BRANCH, 0, 0));
+    }
+
+    @Test
+    void respectsTheMaximumDistance() {
+        SimHashIndex index = new SimHashIndex(4);
+        index.add(0b111L, 10, BRANCH, 100);
+
+        assertEquals(NOT_FOUND, index.findNearest(0b000L, BRANCH, 0, 2));
+        assertEquals(10, index.findNearest(0b000L, BRANCH, 0, 3));
+    }
+
+    @Test
+    void prefersTheClosestFingerprint() {
+        SimHashIndex index = new SimHashIndex(4);
+        index.add(0b011L, 10, BRANCH, 100);
+        index.add(0b001L, 11, BRANCH, 100);
+
+        assertEquals(11, index.findNearest(0b000L, BRANCH, 0, 3));
+    }
+
+    @Test
+    void breaksTiesByLowestFeedbackId() {
+        SimHashIndex index = new SimHashIndex(4);
+        index.add(0b010L, 12, BRANCH, 100);
+        index.add(0b001L, 11, BRANCH, 100);
+
+        assertEquals(11, index.findNearest(0b000L, BRANCH, 0, 3));
+    }
+
+    @Test
+    void ignoresOtherGroupsAndOlderEntries() {
+        SimHashIndex index = new SimHashIndex(4);
+        index.add(0xABCDL, 10, OTHER_BRANCH, 100);
+        index.add(0xABCDL, 11, BRANCH, 50);
+
+        assertEquals(NOT_FOUND, index.findNearest(0xABCDL, BRANCH, 60, 0));
+        assertEquals(11, index.findNearest(0xABCDL, BRANCH, 50, 0));
+        assertEquals(10, index.findNearest(0xABCDL, OTHER_BRANCH, 60, 0));
+    }
+
+    @Test
+    void evictsTheOldestEntryWhenFull() {
+        SimHashIndex index = new SimHashIndex(2);
+        index.add(0x1111L, 10, BRANCH, 100);
+        index.add(0x2222L, 11, BRANCH, 100);
+        index.add(0x3333L, 12, BRANCH, 100);
+
+        assertEquals(2, index.size());
+        assertEquals(NOT_FOUND, index.findNearest(0x1111L, BRANCH, 0, 0));
+        assertEquals(11, index.findNearest(0x2222L, BRANCH, 0, 0));
+        assertEquals(12, index.findNearest(0x3333L, BRANCH, 0, 0));
+    }
+
+    @Test
+    void keepsBucketChainsIntactAcrossEvictions() {
+        SimHashIndex index = new SimHashIndex(3);
+        for (long id = 1; id <= 10; id++) {
+            index.add(0xF0F0L, id, BRANCH, id);
+        }
+
+        assertEquals(3, index.size());
+        assertEquals(8, index.findNearest(0xF0F0L, BRANCH, 0, 0));
+        assertEquals(10, index.findNearest(0xF0F0L, BRANCH, 10, 0));
+    }
+}
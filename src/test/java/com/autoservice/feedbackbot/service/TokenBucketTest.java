@@ -0,0 +1,83 @@
+package com.autoservice.feedbackbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    @Test
+    void allowsTheBurstWithoutWaiting() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+    }
+
+    @Test
+    void spacesReservationsByTheRateOnceTheBurstIsUsed() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+        reserve(bucket, 3);
+
+        assertEquals(INTERVAL, bucket.reserve());
+        assertEquals(2 * INTERVAL, bucket.reserve());
+    }
+
+    @Test
+    void burstOfOneSpacesEveryReservation() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(INTERVAL, bucket.reserve());
+        assertEquals(2 * INTERVAL, bucket.reserve());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+        reserve(bucket, 3);
+
+        now.addAndGet(INTERVAL);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(INTERVAL, bucket.reserve());
+    }
+
+    @Test
+    void neverStoresMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        reserve(bucket, 3);
+        assertEquals(INTERVAL, bucket.reserve());
+    }
+
+    @Test
+    void isIdleOnceAllReservationsHavePassed() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        assertTrue(bucket.isIdle());
+
+        bucket.reserve();
+        assertFalse(bucket.isIdle());
+
+        now.addAndGet(INTERVAL);
+        assertTrue(bucket.isIdle());
+    }
+
+    private void reserve(TokenBucket bucket, int times) {
+        for (int i = 0; i < times; i++) {
+            assertEquals(0, bucket.reserve());
+        }
+    }
+}